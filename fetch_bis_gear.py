@@ -256,9 +256,12 @@ def main():
                 print(f"  - {failed}")
         
         # Tüm verileri tek bir JSON dosyasına kaydet
-        output_file = "bis_data.json"
-        with open(output_file, "w") as f:
+        # Bot dosyayı izlediği için önce geçici dosyaya yazılıp atomik olarak taşınır
+        output_file = os.environ.get("BIS_DATA_FILE", "bis_data.json")
+        temp_file = output_file + ".tmp"
+        with open(temp_file, "w") as f:
             json.dump(all_bis_data, f, indent=2)
+        os.replace(temp_file, output_file)
 
         print(f"\n📁 All BIS data saved to {output_file}")
         print(f"✅ Successfully processed {successful_profiles}/{total_profiles} profiles.")
@@ -0,0 +1,123 @@
+package followarcane.wow_lfg_discord_bot.application.service;
+
+import followarcane.wow_lfg_discord_bot.application.model.CompiledRecruitmentFilter;
+import followarcane.wow_lfg_discord_bot.application.model.RecruitmentProfile;
+import followarcane.wow_lfg_discord_bot.application.response.CharacterInfoResponse;
+import followarcane.wow_lfg_discord_bot.application.util.ClassColorCodeHelper;
+import followarcane.wow_lfg_discord_bot.domain.model.UserSettings;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+
+/**
+ * Bir fetch döngüsündeki fan-out yolu: abonelik indeksi, derlenmiş filtreler ve embed render'ı.
+ * Guild ve karakter sayısı parametrelerle değişir; ./gradlew jmh ile gc profiler'ı açık çalışır.
+ */
+@State(Scope.Benchmark)
+public class LfgFanOutBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int guilds;
+
+    @Param({"10", "100", "500"})
+    public int characters;
+
+    private List<UserSettings> settings;
+    private List<CharacterInfoResponse> feed;
+    private List<RecruitmentProfile> profiles;
+    private Map<String, CompiledRecruitmentFilter> filters;
+    private LfgSubscriptionIndex index;
+    private LfgEmbedRenderer renderer;
+
+    @Setup
+    public void setUp() {
+        settings = LfgFixtures.settings(guilds, 42L);
+        feed = LfgFixtures.characters(characters, 7L);
+
+        Random random = new Random(11L);
+        filters = new HashMap<>();
+        for (UserSettings userSettings : settings) {
+            // Guild'lerin yarısında filtre yok
+            filters.put(userSettings.getServer().getServerId(), random.nextBoolean()
+                    ? CompiledRecruitmentFilter.ALLOW_ALL
+                    : CompiledRecruitmentFilter.compile(LfgFixtures.filter(random)));
+        }
+
+        profiles = new ArrayList<>(feed.size());
+        for (CharacterInfoResponse character : feed) {
+            profiles.add(RecruitmentProfile.from(Map.of(
+                    "name", character.getName(),
+                    "realm", character.getRealm(),
+                    "class", character.getRaiderIOData().getClassType(),
+                    "role", character.getRaiderIOData().getActiveSpecRole(),
+                    "ilevel", character.getILevel(),
+                    "progress", character.getRaidProgressions().get(0).getSummary())));
+        }
+
+        index = LfgSubscriptionIndex.build(settings);
+        renderer = new LfgEmbedRenderer(new ClassColorCodeHelper());
+    }
+
+    @Benchmark
+    public LfgSubscriptionIndex buildIndex() {
+        return LfgSubscriptionIndex.build(settings);
+    }
+
+    @Benchmark
+    public void candidates(Blackhole blackhole) {
+        for (CharacterInfoResponse character : feed) {
+            blackhole.consume(index.candidatesFor(character));
+        }
+    }
+
+    @Benchmark
+    public int filterCandidates() {
+        int matched = 0;
+        for (int i = 0; i < feed.size(); i++) {
+            RecruitmentProfile profile = profiles.get(i);
+            for (LfgSubscriptionIndex.Subscription subscription : index.candidatesFor(feed.get(i))) {
+                if (filters.get(subscription.getServerId()).test(profile)) {
+                    matched++;
+                }
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * Tam döngü: aday guild'ler, filtre ve eşleşen her guild için (önbellekli) embed.
+     */
+    @Benchmark
+    public void fullCycle(Blackhole blackhole) {
+        for (int i = 0; i < feed.size(); i++) {
+            CharacterInfoResponse character = feed.get(i);
+            RecruitmentProfile profile = profiles.get(i);
+            LfgEmbedRenderer.CharacterEmbeds embeds = null;
+            for (LfgSubscriptionIndex.Subscription subscription : index.candidatesFor(character)) {
+                if (!filters.get(subscription.getServerId()).test(profile)) {
+                    continue;
+                }
+                if (embeds == null) {
+                    embeds = renderer.forCharacter(character);
+                }
+                MessageEmbed embed = embeds.render(subscription.getSettings());
+                blackhole.consume(embed);
+            }
+        }
+    }
+
+    /**
+     * Karakter başına tüm settings varyantlarının ilk render maliyeti.
+     */
+    @Benchmark
+    public void renderAllVariants(Blackhole blackhole) {
+        for (CharacterInfoResponse character : feed) {
+            LfgEmbedRenderer.CharacterEmbeds embeds = renderer.forCharacter(character);
+            for (int i = 0; i < Math.min(16, settings.size()); i++) {
+                blackhole.consume(embeds.render(settings.get(i)));
+            }
+        }
+    }
+}
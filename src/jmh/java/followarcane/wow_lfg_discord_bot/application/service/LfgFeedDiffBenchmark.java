@@ -0,0 +1,62 @@
+package followarcane.wow_lfg_discord_bot.application.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import followarcane.wow_lfg_discord_bot.application.response.CharacterInfoResponse;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * latest-lfg feed'inde yeni/değişen karakterlerin tespiti: anahtar + JSON ağacı parmak izi karşılaştırması.
+ * Değişen oran sabit (%10); sadece değişenler deserialize edilir.
+ */
+@State(Scope.Benchmark)
+public class LfgFeedDiffBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int characters;
+
+    // Uygulamadaki ObjectMapper ile aynı modüller (parameter names vb.)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private ArrayNode feed;
+    private Map<String, Integer> previousFingerprints;
+
+    @Setup
+    public void setUp() {
+        List<CharacterInfoResponse> data = LfgFixtures.characters(characters, 7L);
+        feed = objectMapper.valueToTree(data);
+
+        previousFingerprints = new HashMap<>();
+        for (int i = 0; i < feed.size(); i++) {
+            JsonNode node = feed.get(i);
+            previousFingerprints.put(DataFetcherService.feedKey(node), node.hashCode());
+        }
+        // Her onuncu karakterin yorumu değişmiş olsun
+        for (int i = 0; i < feed.size(); i += 10) {
+            ((ObjectNode) feed.get(i)).put("commentary", "Updated commentary " + i);
+        }
+    }
+
+    @Benchmark
+    public void fingerprintDiff(Blackhole blackhole) throws Exception {
+        Map<String, Integer> seen = new HashMap<>(feed.size() * 2);
+        for (JsonNode node : feed) {
+            String feedKey = DataFetcherService.feedKey(node);
+            int fingerprint = node.hashCode();
+            seen.put(feedKey, fingerprint);
+
+            Integer previous = previousFingerprints.get(feedKey);
+            if (previous == null || previous != fingerprint) {
+                blackhole.consume(objectMapper.treeToValue(node, CharacterInfoResponse.class));
+            }
+        }
+        blackhole.consume(seen);
+    }
+}
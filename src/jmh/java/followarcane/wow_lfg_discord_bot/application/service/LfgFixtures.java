@@ -0,0 +1,118 @@
+package followarcane.wow_lfg_discord_bot.application.service;
+
+import followarcane.wow_lfg_discord_bot.application.response.*;
+import followarcane.wow_lfg_discord_bot.domain.model.DiscordChannel;
+import followarcane.wow_lfg_discord_bot.domain.model.DiscordServer;
+import followarcane.wow_lfg_discord_bot.domain.model.RecruitmentFilter;
+import followarcane.wow_lfg_discord_bot.domain.model.UserSettings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark'lar için sabit seed ile üretilen sentetik guild ayarları, filtreler ve LFG karakterleri.
+ */
+final class LfgFixtures {
+
+    private static final String[] REGIONS = {"eu", "us"};
+    private static final String[] REALMS = {"Twisting Nether", "Tarren Mill", "Draenor", "Silvermoon", "Kazzak", "Ravencrest", "Area 52", "Illidan", "Stormrage", "Sylvanas"};
+    private static final String[] LANGUAGES = {"English", "Turkish", "German", "French", "Spanish", "Russian"};
+    private static final String[] CLASSES = {"Death Knight", "Demon Hunter", "Druid", "Evoker", "Hunter", "Mage", "Monk", "Paladin", "Priest", "Rogue", "Shaman", "Warlock", "Warrior"};
+    private static final String[] ROLES = {"TANK", "HEALING", "DPS"};
+    private static final String[] DIFFICULTIES = {"N", "H", "M"};
+
+    private LfgFixtures() {
+    }
+
+    static List<UserSettings> settings(int guilds, long seed) {
+        Random random = new Random(seed);
+        List<UserSettings> settings = new ArrayList<>(guilds);
+        for (int i = 0; i < guilds; i++) {
+            DiscordServer server = new DiscordServer();
+            server.setServerId("guild-" + i);
+            server.setServerName("Guild " + i);
+
+            DiscordChannel channel = new DiscordChannel();
+            channel.setId((long) i);
+            channel.setChannelId("channel-" + i);
+            channel.setServer(server);
+
+            UserSettings userSettings = new UserSettings();
+            userSettings.setId((long) i);
+            userSettings.setServer(server);
+            userSettings.setChannel(channel);
+            userSettings.setRegion(REGIONS[random.nextInt(REGIONS.length)]);
+            // Guild'lerin dörtte biri tüm realm'leri dinler
+            userSettings.setRealm(random.nextInt(4) == 0 ? "All Realms" : REALMS[random.nextInt(REALMS.length)]);
+            userSettings.setLanguage(random.nextBoolean()
+                    ? LANGUAGES[random.nextInt(LANGUAGES.length)]
+                    : "English, " + LANGUAGES[1 + random.nextInt(LANGUAGES.length - 1)]);
+            userSettings.setFaction(random.nextBoolean());
+            userSettings.setProgress(random.nextBoolean());
+            userSettings.setRanks(random.nextBoolean());
+            userSettings.setPlayerInfo(random.nextBoolean());
+            settings.add(userSettings);
+        }
+        return settings;
+    }
+
+    static RecruitmentFilter filter(Random random) {
+        RecruitmentFilter filter = new RecruitmentFilter();
+        if (random.nextInt(3) == 0) {
+            filter.setClassFilter(CLASSES[random.nextInt(CLASSES.length)] + "," + CLASSES[random.nextInt(CLASSES.length)]);
+        }
+        if (random.nextInt(3) == 0) {
+            filter.setRoleFilter(ROLES[random.nextInt(ROLES.length)]);
+        }
+        if (random.nextBoolean()) {
+            filter.setMinIlevel(600 + random.nextInt(40));
+        }
+        if (random.nextInt(3) == 0) {
+            filter.setRaidProgress((1 + random.nextInt(8)) + "/8" + DIFFICULTIES[random.nextInt(DIFFICULTIES.length)]);
+        }
+        return filter;
+    }
+
+    static List<CharacterInfoResponse> characters(int count, long seed) {
+        Random random = new Random(seed);
+        List<CharacterInfoResponse> characters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            List<BossRankResponse> bossRanks = new ArrayList<>();
+            for (int boss = 0; boss < 8; boss++) {
+                bossRanks.add(BossRankResponse.builder()
+                        .encounterName("Boss " + boss)
+                        .rankPercent(random.nextDouble() * 100)
+                        .build());
+            }
+
+            characters.add(CharacterInfoResponse.builder()
+                    .name("Character" + i)
+                    .realm(REALMS[random.nextInt(REALMS.length)])
+                    .region(REGIONS[random.nextInt(REGIONS.length)])
+                    .iLevel(String.valueOf(590 + random.nextInt(60)))
+                    .languages(random.nextBoolean() ? "English" : "English, " + LANGUAGES[1 + random.nextInt(LANGUAGES.length - 1)])
+                    .commentary("Looking for a raiding guild, available Wed/Thu/Sun 20:00-23:00. ".repeat(1 + random.nextInt(10)))
+                    .raiderIOData(RaiderIODataResponse.builder()
+                            .classType(CLASSES[random.nextInt(CLASSES.length)])
+                            .activeSpecName("Spec")
+                            .activeSpecRole(ROLES[random.nextInt(ROLES.length)])
+                            .faction(random.nextBoolean() ? "Horde" : "Alliance")
+                            .thumbnailUrl("https://render.worldofwarcraft.com/eu/character/thumb-" + i + ".jpg")
+                            .build())
+                    .raidProgressions(List.of(RaidProgressionResponse.builder()
+                            .raidName("Liberation of Undermine")
+                            .summary((1 + random.nextInt(8)) + "/8 " + DIFFICULTIES[random.nextInt(DIFFICULTIES.length)])
+                            .build()))
+                    .warcraftLogsData(WarcraftLogsDataResponse.builder()
+                            .zoneName("Liberation of Undermine")
+                            .metric("dps")
+                            .difficulty("Heroic")
+                            .bestPerformanceAverage(random.nextDouble() * 100)
+                            .build())
+                    .bossRanks(bossRanks)
+                    .build());
+        }
+        return characters;
+    }
+}
@@ -0,0 +1,279 @@
+package followarcane.wow_lfg_discord_bot.application.model;
+
+import followarcane.wow_lfg_discord_bot.application.util.EnumAliasIndex;
+import followarcane.wow_lfg_discord_bot.application.util.WowClassEnum;
+import followarcane.wow_lfg_discord_bot.application.util.WowHeroTalentEnum;
+import followarcane.wow_lfg_discord_bot.application.util.WowSlotEnum;
+import followarcane.wow_lfg_discord_bot.application.util.WowSpecEnum;
+
+import java.util.*;
+
+/**
+ * bis_data.json'un derlenmiş, değiştirilemez hali: sınıf -> spec -> hero talent -> slot -> item.
+ * <p>
+ * "Death_Knight_Blood_Deathbringer" gibi anahtarlar açılışta bir kez ayrıştırılır; sınıf, spec ve hero talent için
+ * normalize edilmiş ad tabloları kurulur. Böylece her sorgu birkaç hash lookup ile cevaplanır.
+ */
+public final class BisGearIndex {
+
+    private static final Map<String, WowSlotEnum> SLOTS_BY_DATA_NAME = new HashMap<>();
+
+    static {
+        for (WowSlotEnum slot : WowSlotEnum.values()) {
+            SLOTS_BY_DATA_NAME.put(slot.getFormattedName(), slot);
+        }
+    }
+
+    private final Map<String, ClassGear> classes;
+    private final int profileCount;
+
+    private BisGearIndex(Map<String, ClassGear> classes, int profileCount) {
+        this.classes = classes;
+        this.profileCount = profileCount;
+    }
+
+    /**
+     * Ham JSON haritasını derler. Tanınmayan slot adları atlanır.
+     */
+    public static BisGearIndex compile(Map<String, Map<String, Map<String, Object>>> raw) {
+        // Sınıf -> spec -> hero talent, veri dosyasındaki sırayla
+        Map<String, Map<String, Map<String, Map<WowSlotEnum, BisItem>>>> tree = new LinkedHashMap<>();
+        Map<String, WowClassEnum> classEnums = new HashMap<>();
+
+        for (Map.Entry<String, Map<String, Map<String, Object>>> profile : raw.entrySet()) {
+            String key = profile.getKey();
+
+            WowClassEnum wowClass = matchClass(key);
+            String className = wowClass != null ? wowClass.getFormattedName() : firstToken(key);
+            String rest = key.length() > className.length() ? key.substring(className.length() + 1) : "";
+
+            WowSpecEnum wowSpec = matchSpec(rest, wowClass);
+            String specName = wowSpec != null ? wowSpec.getFormattedName() : firstToken(rest);
+            String heroTalent = rest.length() > specName.length() ? rest.substring(specName.length() + 1) : "";
+
+            if (wowClass != null) {
+                classEnums.put(className, wowClass);
+            }
+            tree.computeIfAbsent(className, name -> new LinkedHashMap<>())
+                    .computeIfAbsent(specName, name -> new LinkedHashMap<>())
+                    .put(heroTalent, compileItems(profile.getValue()));
+        }
+
+        Map<String, ClassGear> classAliases = new HashMap<>();
+        for (Map.Entry<String, Map<String, Map<String, Map<WowSlotEnum, BisItem>>>> classEntry : tree.entrySet()) {
+            WowClassEnum wowClass = classEnums.get(classEntry.getKey());
+            ClassGear classGear = compileClass(classEntry.getKey(), wowClass, classEntry.getValue());
+
+            classAliases.putIfAbsent(normalize(classEntry.getKey()), classGear);
+            if (wowClass != null) {
+                for (String alias : wowClass.getAliases()) {
+                    classAliases.putIfAbsent(normalize(alias), classGear);
+                }
+            }
+        }
+
+        return new BisGearIndex(Map.copyOf(classAliases), raw.size());
+    }
+
+    public int size() {
+        return profileCount;
+    }
+
+    /**
+     * Alias tekrarları olmadan tüm spec'ler.
+     */
+    public Collection<SpecGear> specs() {
+        Set<SpecGear> specs = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (ClassGear classGear : classes.values()) {
+            specs.addAll(classGear.specs.values());
+        }
+        return specs;
+    }
+
+    /**
+     * Önce veri dosyasındaki adlar ve alias'lar, bulunamazsa enum'ların önek eşleşmesi denenir.
+     */
+    public SpecGear findSpec(String className, String specName) {
+        ClassGear classGear = classes.get(normalize(className));
+        if (classGear == null) {
+            WowClassEnum wowClass = WowClassEnum.fromString(className);
+            classGear = wowClass != null ? classes.get(normalize(wowClass.getFormattedName())) : null;
+        }
+        if (classGear == null) {
+            return null;
+        }
+
+        SpecGear specGear = classGear.specs.get(normalize(specName));
+        if (specGear == null) {
+            WowSpecEnum wowSpec = WowSpecEnum.fromString(specName, classGear.wowClass);
+            specGear = wowSpec != null ? classGear.specs.get(normalize(wowSpec.getFormattedName())) : null;
+        }
+        return specGear;
+    }
+
+    public HeroTalentGear findHeroTalent(String className, String specName, String heroTalent) {
+        SpecGear specGear = findSpec(className, specName);
+        if (specGear == null) {
+            return null;
+        }
+
+        HeroTalentGear heroGear = specGear.heroTalentsByAlias.get(normalize(heroTalent));
+        if (heroGear == null) {
+            WowHeroTalentEnum talent = WowHeroTalentEnum.fromString(heroTalent, specGear.wowSpec);
+            heroGear = talent != null ? specGear.heroTalentsByTalent.get(talent) : null;
+        }
+        return heroGear;
+    }
+
+    /**
+     * Kullanıcının yazdığı slotu veri slotlarına çevirir; "Trinket" ve "Finger" iki slotu birden kapsar.
+     */
+    public static List<WowSlotEnum> resolveSlots(String slot) {
+        WowSlotEnum resolved = WowSlotEnum.fromString(slot);
+        if (resolved == null) {
+            return List.of();
+        }
+        return switch (resolved) {
+            case FINGER -> List.of(WowSlotEnum.FINGER1, WowSlotEnum.FINGER2);
+            case TRINKET -> List.of(WowSlotEnum.TRINKET1, WowSlotEnum.TRINKET2);
+            default -> List.of(resolved);
+        };
+    }
+
+    private static String normalize(String text) {
+        return EnumAliasIndex.normalize(text);
+    }
+
+    private static ClassGear compileClass(String className, WowClassEnum wowClass, Map<String, Map<String, Map<WowSlotEnum, BisItem>>> specs) {
+        Map<String, SpecGear> specAliases = new HashMap<>();
+        for (Map.Entry<String, Map<String, Map<WowSlotEnum, BisItem>>> specEntry : specs.entrySet()) {
+            WowSpecEnum wowSpec = wowClass != null ? matchSpec(specEntry.getKey(), wowClass) : null;
+            SpecGear specGear = compileSpec(className, specEntry.getKey(), wowSpec, specEntry.getValue());
+
+            specAliases.putIfAbsent(normalize(specEntry.getKey()), specGear);
+            if (wowSpec != null) {
+                for (String alias : wowSpec.getAliases()) {
+                    specAliases.putIfAbsent(normalize(alias), specGear);
+                }
+            }
+        }
+        return new ClassGear(className, wowClass, Map.copyOf(specAliases));
+    }
+
+    private static SpecGear compileSpec(String className, String specName, WowSpecEnum wowSpec, Map<String, Map<WowSlotEnum, BisItem>> heroTalents) {
+        List<HeroTalentGear> all = new ArrayList<>();
+        Map<String, HeroTalentGear> heroAliases = new HashMap<>();
+        Map<WowHeroTalentEnum, HeroTalentGear> byTalent = new EnumMap<>(WowHeroTalentEnum.class);
+        EnumMap<WowSlotEnum, BisItem> merged = new EnumMap<>(WowSlotEnum.class);
+
+        // Veri dosyasındaki adlar doğrudan, eşleşen hero talent enum'ları findHeroTalent'ta yedek olarak kullanılır
+        for (Map.Entry<String, Map<WowSlotEnum, BisItem>> heroEntry : heroTalents.entrySet()) {
+            HeroTalentGear heroGear = new HeroTalentGear(heroEntry.getKey(), heroEntry.getValue());
+            all.add(heroGear);
+            merged.putAll(heroEntry.getValue());
+            heroAliases.putIfAbsent(normalize(heroEntry.getKey()), heroGear);
+        }
+        for (HeroTalentGear heroGear : all) {
+            for (WowHeroTalentEnum talent : matchHeroTalents(heroGear.name, wowSpec)) {
+                byTalent.putIfAbsent(talent, heroGear);
+            }
+        }
+
+        // Adlandırılmış hero talent varsa yalın "Sınıf_Spec" profili ayrı embed olarak gösterilmez
+        List<HeroTalentGear> named = all.stream().filter(heroGear -> !heroGear.name.isEmpty()).toList();
+        return new SpecGear(className, specName, wowSpec, named.isEmpty() ? List.copyOf(all) : named,
+                Map.copyOf(heroAliases), Collections.unmodifiableMap(byTalent), Collections.unmodifiableMap(merged));
+    }
+
+    private static Map<WowSlotEnum, BisItem> compileItems(Map<String, Map<String, Object>> slots) {
+        EnumMap<WowSlotEnum, BisItem> items = new EnumMap<>(WowSlotEnum.class);
+        for (Map.Entry<String, Map<String, Object>> slotEntry : slots.entrySet()) {
+            WowSlotEnum slot = SLOTS_BY_DATA_NAME.get(slotEntry.getKey());
+            if (slot == null || slotEntry.getValue() == null) {
+                continue;
+            }
+            Map<String, Object> item = slotEntry.getValue();
+            items.put(slot, new BisItem(asText(item.get("name")), asText(item.get("url")), asText(item.get("source")), asText(item.get("stats"))));
+        }
+        return Collections.unmodifiableMap(items);
+    }
+
+    private static WowClassEnum matchClass(String key) {
+        WowClassEnum best = null;
+        for (WowClassEnum wowClass : WowClassEnum.values()) {
+            String name = wowClass.getFormattedName();
+            if (startsWithToken(key, name) && (best == null || name.length() > best.getFormattedName().length())) {
+                best = wowClass;
+            }
+        }
+        return best;
+    }
+
+    private static WowSpecEnum matchSpec(String rest, WowClassEnum wowClass) {
+        if (wowClass == null) {
+            return null;
+        }
+        WowSpecEnum best = null;
+        for (WowSpecEnum spec : WowSpecEnum.values()) {
+            String name = spec.getFormattedName();
+            if (spec.getWowClass() == wowClass && startsWithToken(rest, name)
+                    && (best == null || name.length() > best.getFormattedName().length())) {
+                best = spec;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Veri dosyasındaki hero talent adını ("PL_DW", "Sentinel_2H", "Aldrachi_Reaver") enum'larla eşleştirir.
+     */
+    private static List<WowHeroTalentEnum> matchHeroTalents(String heroTalent, WowSpecEnum wowSpec) {
+        if (heroTalent.isEmpty() || wowSpec == null) {
+            return List.of();
+        }
+        String whole = normalize(heroTalent);
+        String first = normalize(firstToken(heroTalent.replace('-', '_')));
+
+        List<WowHeroTalentEnum> matches = new ArrayList<>();
+        for (WowHeroTalentEnum talent : WowHeroTalentEnum.getHeroTalentsForSpec(wowSpec)) {
+            Set<String> names = new HashSet<>();
+            if (!talent.getFormattedName().isEmpty()) {
+                names.add(normalize(talent.getFormattedName()));
+            }
+            for (String alias : talent.getAliases()) {
+                names.add(normalize(alias));
+            }
+            if (names.contains(whole) || names.contains(first)) {
+                matches.add(talent);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean startsWithToken(String text, String prefix) {
+        return text.equals(prefix) || text.startsWith(prefix + "_");
+    }
+
+    private static String firstToken(String text) {
+        int separator = text.indexOf('_');
+        return separator < 0 ? text : text.substring(0, separator);
+    }
+
+    private static String asText(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    public record ClassGear(String name, WowClassEnum wowClass, Map<String, SpecGear> specs) {
+    }
+
+    /**
+     * Bir spec'in hero talent profilleri; {@code merged} hero talent verilmediğinde kullanılan birleşik görünümdür.
+     */
+    public record SpecGear(String className, String name, WowSpecEnum wowSpec, List<HeroTalentGear> heroTalents,
+                           Map<String, HeroTalentGear> heroTalentsByAlias, Map<WowHeroTalentEnum, HeroTalentGear> heroTalentsByTalent,
+                           Map<WowSlotEnum, BisItem> merged) {
+    }
+
+    public record HeroTalentGear(String name, Map<WowSlotEnum, BisItem> items) {
+    }
+}
@@ -0,0 +1,7 @@
+package followarcane.wow_lfg_discord_bot.application.model;
+
+/**
+ * bis_data.json içindeki tek bir slot kaydı.
+ */
+public record BisItem(String name, String url, String source, String stats) {
+}
@@ -0,0 +1,157 @@
+package followarcane.wow_lfg_discord_bot.application.model;
+
+import followarcane.wow_lfg_discord_bot.application.util.WowClassEnum;
+import followarcane.wow_lfg_discord_bot.domain.model.RecruitmentFilter;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * RecruitmentFilter kaydının derlenmiş hali: class EnumSet, rol bitmask'i, int ilvl ve
+ * (zorluk, boss sayısı) olarak kodlanmış progress eşiği. Sunucu başına bir kez derlenip önbellekte tutulur.
+ */
+@Slf4j
+@Getter
+public final class CompiledRecruitmentFilter {
+
+    public static final int ROLE_TANK = 1;
+    public static final int ROLE_HEALER = 1 << 1;
+    public static final int ROLE_DPS = 1 << 2;
+
+    private static final int ANY = -1;
+    private static final String ANY_TEXT = "ANY";
+
+    public static final CompiledRecruitmentFilter ALLOW_ALL = new CompiledRecruitmentFilter(null, null, ANY, ANY, ANY);
+
+    private final RecruitmentFilter source;
+    private final Set<WowClassEnum> classes;
+    private final int roleMask;
+    private final int minIlevel;
+    private final int minProgress;
+
+    private CompiledRecruitmentFilter(RecruitmentFilter source, Set<WowClassEnum> classes, int roleMask, int minIlevel, int minProgress) {
+        this.source = source;
+        this.classes = classes;
+        this.roleMask = roleMask;
+        this.minIlevel = minIlevel;
+        this.minProgress = minProgress;
+    }
+
+    public static CompiledRecruitmentFilter compile(RecruitmentFilter filter) {
+        if (filter == null) {
+            return ALLOW_ALL;
+        }
+        return new CompiledRecruitmentFilter(
+                filter,
+                compileClasses(filter.getClassFilter()),
+                compileRoles(filter.getRoleFilter()),
+                filter.getMinIlevel() != null ? filter.getMinIlevel() : ANY,
+                compileProgress(filter.getRaidProgress()));
+    }
+
+    public boolean test(RecruitmentProfile profile) {
+        return classMatches(profile) && roleMatches(profile) && ilevelMatches(profile) && progressMatches(profile);
+    }
+
+    public boolean classMatches(RecruitmentProfile profile) {
+        return classes == null || (profile.getPlayerClass() != null && classes.contains(profile.getPlayerClass()));
+    }
+
+    public boolean roleMatches(RecruitmentProfile profile) {
+        return roleMask == ANY || (roleMask & profile.getRoleBit()) != 0;
+    }
+
+    public boolean ilevelMatches(RecruitmentProfile profile) {
+        // Parse edilemeyen ilvl mesajı engellemez
+        return minIlevel == ANY || profile.getIlevel() == RecruitmentProfile.UNKNOWN || profile.getIlevel() >= minIlevel;
+    }
+
+    public boolean progressMatches(RecruitmentProfile profile) {
+        // Parse edilemeyen progress mesajı engellemez
+        return minProgress == ANY || profile.getProgress() == RecruitmentProfile.UNKNOWN || profile.getProgress() >= minProgress;
+    }
+
+    /**
+     * "TANK", "HEALER"/"HEALING", "DPS" -> rol biti; bilinmeyen rol 0.
+     */
+    static int roleBit(String role) {
+        if (role == null) {
+            return 0;
+        }
+        return switch (role.trim().toUpperCase(Locale.ROOT)) {
+            case "TANK" -> ROLE_TANK;
+            case "HEALER", "HEALING" -> ROLE_HEALER;
+            case "DPS" -> ROLE_DPS;
+            default -> 0;
+        };
+    }
+
+    /**
+     * "8/8M" gibi bir progress'i (zorluk << 8 | boss sayısı) olarak kodlar. Zorluk N < H < M;
+     * farklı zorluklarda sadece zorluk, aynı zorlukta boss sayısı karşılaştırılmış olur.
+     */
+    static int encodeProgress(String progress) {
+        if (progress == null) {
+            return RecruitmentProfile.UNKNOWN;
+        }
+        try {
+            String normalized = progress.replace(" ", "");
+            int slash = normalized.indexOf('/');
+            int bossCount = Integer.parseInt(normalized.substring(0, slash));
+            int difficulty = switch (Character.toUpperCase(normalized.charAt(normalized.length() - 1))) {
+                case 'N' -> 1;
+                case 'H' -> 2;
+                case 'M' -> 3;
+                default -> 0;
+            };
+            return (difficulty << 8) | Math.min(bossCount, 0xFF);
+        } catch (RuntimeException e) {
+            return RecruitmentProfile.UNKNOWN;
+        }
+    }
+
+    private static Set<WowClassEnum> compileClasses(String classFilter) {
+        if (classFilter == null || ANY_TEXT.equals(classFilter)) {
+            return null;
+        }
+        EnumSet<WowClassEnum> classes = EnumSet.noneOf(WowClassEnum.class);
+        for (String allowedClass : classFilter.split(",")) {
+            String name = allowedClass.trim().toUpperCase(Locale.ROOT).replace(" ", "_");
+            if (name.isEmpty()) {
+                continue;
+            }
+            try {
+                classes.add(WowClassEnum.valueOf(name));
+            } catch (IllegalArgumentException e) {
+                log.warn("[FILTER_COMPILE] Unknown class in filter: {}", allowedClass);
+            }
+        }
+        return classes;
+    }
+
+    private static int compileRoles(String roleFilter) {
+        if (roleFilter == null || ANY_TEXT.equals(roleFilter)) {
+            return ANY;
+        }
+        int mask = 0;
+        for (String role : roleFilter.split(",")) {
+            mask |= roleBit(role);
+        }
+        return mask;
+    }
+
+    private static int compileProgress(String raidProgress) {
+        if (raidProgress == null || ANY_TEXT.equals(raidProgress)) {
+            return ANY;
+        }
+        int encoded = encodeProgress(raidProgress);
+        if (encoded == RecruitmentProfile.UNKNOWN) {
+            log.error("[PROGRESS_ERROR] Error parsing progress filter: {}, allowing all progress", raidProgress);
+            return ANY;
+        }
+        return encoded;
+    }
+}
@@ -0,0 +1,63 @@
+package followarcane.wow_lfg_discord_bot.application.model;
+
+import followarcane.wow_lfg_discord_bot.application.util.WowClassEnum;
+import lombok.Getter;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Recruitment filtresine girecek oyuncu bilgisinin önceden parse edilmiş hali.
+ * Karakter başına bir kez oluşturulur, sunucu filtreleriyle karşılaştırma sırasında string işlemi yapılmaz.
+ */
+@Getter
+public final class RecruitmentProfile {
+
+    public static final int UNKNOWN = -1;
+
+    private final Map<String, String> playerInfo;
+    private final WowClassEnum playerClass;
+    private final int roleBit;
+    private final int ilevel;
+    private final int progress;
+
+    private RecruitmentProfile(Map<String, String> playerInfo, WowClassEnum playerClass, int roleBit, int ilevel, int progress) {
+        this.playerInfo = playerInfo;
+        this.playerClass = playerClass;
+        this.roleBit = roleBit;
+        this.ilevel = ilevel;
+        this.progress = progress;
+    }
+
+    public static RecruitmentProfile from(Map<String, String> playerInfo) {
+        return new RecruitmentProfile(
+                playerInfo,
+                parseClass(playerInfo.get("class")),
+                CompiledRecruitmentFilter.roleBit(playerInfo.get("role")),
+                parseIlevel(playerInfo.get("ilevel")),
+                CompiledRecruitmentFilter.encodeProgress(playerInfo.get("progress")));
+    }
+
+    private static WowClassEnum parseClass(String playerClass) {
+        if (playerClass == null) {
+            return null;
+        }
+        try {
+            return WowClassEnum.valueOf(playerClass.trim().toUpperCase(Locale.ROOT).replace(" ", "_"));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static int parseIlevel(String playerIlevel) {
+        if (playerIlevel == null) {
+            return UNKNOWN;
+        }
+        try {
+            // Decimal kısmını at
+            return (int) Double.parseDouble(playerIlevel);
+        } catch (NumberFormatException e) {
+            return UNKNOWN;
+        }
+    }
+}
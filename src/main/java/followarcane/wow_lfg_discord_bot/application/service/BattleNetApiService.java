@@ -2,15 +2,31 @@ package followarcane.wow_lfg_discord_bot.application.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.*;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
 @Service
 @Slf4j
 public class BattleNetApiService {
@@ -26,9 +42,33 @@ public class BattleNetApiService {
     @Value("${battle-net.api.url}")
     private String battleNetApiUrl;
 
-    // Token önbelleği için değişkenler
-    private String blizzardToken;
-    private long tokenExpiry = 0;
+    // Doğrulama gerekmeden önbellekten dönülen süre; sonrasında koşullu istek atılır
+    @Value("${battle-net.cache.fresh-ms:60000}")
+    private long cacheFreshMs;
+
+    @Value("${battle-net.cache.max-size:2000}")
+    private int cacheMaxSize;
+
+    // Async profil çağrılarının süre sınırı
+    @Value("${battle-net.timeout-ms:8000}")
+    private long requestTimeoutMs;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, CachedResponse> responseCache = new ConcurrentHashMap<>();
+
+    // Süresi dolmadan bu kadar önce arka planda yenilenir
+    @Value("${battle-net.token.refresh-before-expiry-ms:300000}")
+    private long refreshBeforeExpiryMs;
+
+    private static final long EXPIRY_SAFETY_MARGIN_MS = 60000;
+
+    private final AtomicReference<BlizzardToken> currentToken = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<BlizzardToken>> pendingRefresh = new AtomicReference<>();
+    private final ExecutorService tokenRefreshExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "blizzard-token-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public BattleNetApiService(RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
@@ -39,12 +79,6 @@ public class BattleNetApiService {
      */
     public JsonNode fetchCharacterRaidData(String name, String realm, String region) {
         try {
-            String token = getBlizzardToken();
-            if (token == null) {
-                log.error("Failed to get Blizzard API token");
-                return null;
-            }
-
             String blizzardUrl = UriComponentsBuilder.fromHttpUrl(battleNetApiUrl + "/profile/wow/character/" +
                             realm.toLowerCase() + "/" + name.toLowerCase() + "/encounters/raids")
                     .queryParam("namespace", "profile-" + region)
@@ -52,20 +86,8 @@ public class BattleNetApiService {
                     .build()
                     .toUriString();
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setBearerAuth(token);
-
             log.info("Fetching Blizzard data from: {}", blizzardUrl);
-            ResponseEntity<String> response = restTemplate.exchange(
-                    blizzardUrl,
-                    HttpMethod.GET,
-                    new HttpEntity<>(headers),
-                    String.class
-            );
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                return new ObjectMapper().readTree(response.getBody());
-            }
+            return fetchProfileResource(blizzardUrl);
         } catch (Exception e) {
             log.error("Error fetching Blizzard data: {}", e.getMessage(), e);
         }
@@ -73,46 +95,141 @@ public class BattleNetApiService {
     }
 
     /**
-     * Blizzard API token'ı alır (önbellek kullanarak)
+     * Raid verisini arka planda çeker; süre aşımında veya hatada null ile tamamlanır.
+     */
+    public CompletableFuture<JsonNode> fetchCharacterRaidDataAsync(String name, String realm, String region) {
+        return UpstreamCalls.supplyAsync("Blizzard raid encounters " + name + "-" + realm + "-" + region, requestTimeoutMs,
+                () -> fetchCharacterRaidData(name, realm, region));
+    }
+
+    /**
+     * İstatistikleri arka planda çeker; süre aşımında veya hatada null ile tamamlanır.
+     */
+    public CompletableFuture<JsonNode> fetchCharacterStatsAsync(String name, String realm, String region) {
+        return UpstreamCalls.supplyAsync("Blizzard statistics " + name + "-" + realm + "-" + region, requestTimeoutMs,
+                () -> fetchCharacterStats(name, realm, region));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prefetchToken() {
+        refreshToken();
+    }
+
+    @PreDestroy
+    void stop() {
+        tokenRefreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Blizzard API token'ı alır (önbellek kullanarak). Yenileme zamanı gelmiş ama hâlâ geçerli bir token varsa
+     * o döner ve yenileme arka planda başlar; sadece hiç geçerli token yoksa çağıran thread yenilemeyi bekler.
      */
     public String getBlizzardToken() {
         long now = System.currentTimeMillis();
-        if (blizzardToken == null || now >= tokenExpiry) {
-            try {
-                String tokenUrl = "https://oauth.battle.net/token";
-
-                HttpHeaders headers = new HttpHeaders();
-                headers.setBasicAuth(battleNetClientApi, battleNetClientSecret);
-                headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-                MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
-                body.add("grant_type", "client_credentials");
-
-                HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
-
-                log.info("Requesting Blizzard API token");
-                ResponseEntity<String> response = restTemplate.exchange(
-                        tokenUrl,
-                        HttpMethod.POST,
-                        request,
-                        String.class
-                );
-
-                if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                    JsonNode jsonNode = new ObjectMapper().readTree(response.getBody());
-                    blizzardToken = jsonNode.get("access_token").asText();
-                    int expiresIn = jsonNode.get("expires_in").asInt();
-                    tokenExpiry = now + (expiresIn * 1000) - 300000; // 5 dakika önce yenile
-                    log.info("Blizzard API token obtained, expires in {} seconds", expiresIn);
-                    return blizzardToken;
-                }
-            } catch (Exception e) {
-                log.error("Error getting Blizzard API token: {}", e.getMessage(), e);
+        BlizzardToken token = currentToken.get();
+        if (token != null && now < token.expiresAt) {
+            if (now >= token.refreshAt) {
+                refreshToken();
             }
+            log.debug("[BLIZZARD_TOKEN] Token used from cache");
+            return token.value;
+        }
+
+        try {
+            BlizzardToken fresh = refreshToken().join();
+            return fresh != null ? fresh.value : null;
+        } catch (CompletionException e) {
+            // Hata yenileme thread'inde loglandı
             return null;
-        } else
-            log.info("Blizzard API token used from cache");
-        return blizzardToken;
+        }
+    }
+
+    /**
+     * Süresi yaklaşan token'ı istek beklemeden yeniler.
+     */
+    @Scheduled(fixedDelayString = "${battle-net.token.renew-check-interval-ms:60000}")
+    public void renewTokenIfNeeded() {
+        BlizzardToken token = currentToken.get();
+        if (token == null || System.currentTimeMillis() >= token.refreshAt) {
+            refreshToken();
+        }
+    }
+
+    /**
+     * Token yenilemesini başlatır; devam eden bir yenileme varsa ona katılır.
+     */
+    private CompletableFuture<BlizzardToken> refreshToken() {
+        while (true) {
+            CompletableFuture<BlizzardToken> pending = pendingRefresh.get();
+            if (pending != null) {
+                return pending;
+            }
+
+            CompletableFuture<BlizzardToken> created = new CompletableFuture<>();
+            if (pendingRefresh.compareAndSet(null, created)) {
+                try {
+                    tokenRefreshExecutor.execute(() -> {
+                        try {
+                            BlizzardToken token = requestToken();
+                            if (token != null) {
+                                currentToken.set(token);
+                            }
+                            created.complete(token);
+                        } catch (Exception e) {
+                            log.error("Error getting Blizzard API token: {}", e.getMessage(), e);
+                            created.completeExceptionally(e);
+                        } finally {
+                            pendingRefresh.compareAndSet(created, null);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    pendingRefresh.compareAndSet(created, null);
+                    created.completeExceptionally(e);
+                }
+                return created;
+            }
+        }
+    }
+
+    /**
+     * 401 dönen token'ı, bu arada başka bir thread yenilemediyse geçersiz sayar.
+     */
+    private void invalidateToken(String staleValue) {
+        currentToken.updateAndGet(token -> token != null && token.value.equals(staleValue) ? null : token);
+    }
+
+    private BlizzardToken requestToken() throws IOException {
+        String tokenUrl = "https://oauth.battle.net/token";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBasicAuth(battleNetClientApi, battleNetClientSecret);
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+        MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
+        body.add("grant_type", "client_credentials");
+
+        HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
+
+        log.info("Requesting Blizzard API token");
+        ResponseEntity<String> response = restTemplate.exchange(
+                tokenUrl,
+                HttpMethod.POST,
+                request,
+                String.class
+        );
+
+        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            JsonNode jsonNode = objectMapper.readTree(response.getBody());
+            long now = System.currentTimeMillis();
+            long expiresInMs = jsonNode.get("expires_in").asLong() * 1000;
+            log.info("Blizzard API token obtained, expires in {} seconds", expiresInMs / 1000);
+            return new BlizzardToken(jsonNode.get("access_token").asText(),
+                    now + expiresInMs - EXPIRY_SAFETY_MARGIN_MS,
+                    now + expiresInMs - refreshBeforeExpiryMs);
+        }
+
+        log.error("Error getting Blizzard API token: {}", response.getStatusCode());
+        return null;
     }
 
     /**
@@ -133,23 +250,94 @@ public class BattleNetApiService {
             log.info("Fetching character stats from: {}", url);
 
             // API isteği yap
-            HttpHeaders headers = new HttpHeaders();
-            headers.setBearerAuth(getBlizzardToken());
-            
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-
-            // Yanıtı işle
-            if (response.getStatusCode() == HttpStatus.OK) {
-                String responseBody = response.getBody();
-                return new ObjectMapper().readTree(responseBody);
-            } else {
-                log.error("Error fetching character stats: {}", response.getStatusCode());
-                return null;
-            }
+            return fetchProfileResource(url);
         } catch (Exception e) {
             log.error("Error fetching character stats: {}", e.getMessage(), e);
             return null;
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Profil endpoint'ini önbellekli olarak çeker. Taze kayıt doğrudan döner; süresi geçmişse
+     * Last-Modified/ETag ile koşullu istek atılır ve 304 gelirse önbellekteki gövde kullanılır.
+     */
+    private JsonNode fetchProfileResource(String url) throws IOException {
+        long now = System.currentTimeMillis();
+        CachedResponse cached = responseCache.get(url);
+        if (cached != null && now - cached.storedAt < cacheFreshMs) {
+            log.debug("[BLIZZARD_CACHE] Fresh hit for {}", url);
+            return cached.body;
+        }
+
+        String token = getBlizzardToken();
+        if (token == null) {
+            log.error("Failed to get Blizzard API token");
+            return null;
+        }
+
+        ResponseEntity<String> response;
+        try {
+            response = exchangeProfileResource(url, token, cached);
+        } catch (HttpClientErrorException.Unauthorized e) {
+            // Token süresinden önce iptal edilmiş olabilir; bir kez yenileyip tekrar denenir
+            log.warn("[BLIZZARD_TOKEN] Token rejected with 401, refreshing and retrying once");
+            invalidateToken(token);
+            token = getBlizzardToken();
+            if (token == null) {
+                log.error("Failed to get Blizzard API token");
+                return null;
+            }
+            response = exchangeProfileResource(url, token, cached);
+        }
+
+        if (response.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+            log.debug("[BLIZZARD_CACHE] Not modified: {}", url);
+            responseCache.put(url, new CachedResponse(cached.body, cached.lastModified, cached.etag, now));
+            return cached.body;
+        }
+
+        if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            JsonNode body = objectMapper.readTree(response.getBody());
+            HttpHeaders responseHeaders = response.getHeaders();
+            store(url, new CachedResponse(body, responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED), responseHeaders.getETag(), now));
+            return body;
+        }
+
+        log.error("Error fetching Blizzard data: {}", response.getStatusCode());
+        return null;
+    }
+
+    private ResponseEntity<String> exchangeProfileResource(String url, String token, CachedResponse cached) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        if (cached != null) {
+            if (cached.etag != null) {
+                headers.setIfNoneMatch(cached.etag);
+            }
+            if (cached.lastModified != null) {
+                headers.set(HttpHeaders.IF_MODIFIED_SINCE, cached.lastModified);
+            }
+        }
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    private void store(String url, CachedResponse response) {
+        if (responseCache.size() >= cacheMaxSize) {
+            // Önce taze olmayan kayıtlar atılır, yetmezse herhangi biri
+            long cutoff = System.currentTimeMillis() - cacheFreshMs;
+            responseCache.values().removeIf(cached -> cached.storedAt < cutoff);
+            Iterator<String> keys = responseCache.keySet().iterator();
+            while (responseCache.size() >= cacheMaxSize && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        responseCache.put(url, response);
+    }
+
+    private record BlizzardToken(String value, long expiresAt, long refreshAt) {
+    }
+
+    private record CachedResponse(JsonNode body, String lastModified, String etag, long storedAt) {
+    }
+}
@@ -2,553 +2,301 @@ package followarcane.wow_lfg_discord_bot.application.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import followarcane.wow_lfg_discord_bot.application.model.BisGearIndex;
+import followarcane.wow_lfg_discord_bot.application.model.BisItem;
 import followarcane.wow_lfg_discord_bot.application.util.*;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.entities.MessageEmbed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
 import java.awt.*;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class BisGearService {
     private static final Logger logger = LoggerFactory.getLogger(BisGearService.class);
+    private static final String FOOTER_TEXT = "Powered by Azerite!\nVisit -> https://azerite.app\nDonate -> https://www.patreon.com/Shadlynn/membership";
+    private static final String FOOTER_ICON = "https://i.imgur.com/fK2PvPV.png";
+
     private final ClassColorCodeHelper classColorCodeHelper;
-    private final Map<String, Map<String, Map<String, Object>>> cache = new ConcurrentHashMap<>();
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    // Index ve ondan üretilen embed'ler birlikte değişir; okuyucular her zaman tutarlı bir çift görür
+    private volatile BisCatalog catalog = new BisCatalog(BisGearIndex.compile(Map.of()), Map.of());
+
+    // Boşsa sadece classpath'teki bis_data.json kullanılır
+    @Value("${bis.data-file-path:}")
+    private String dataFilePath;
+
+    @Value("${bis.watch.enabled:true}")
+    private boolean watchEnabled;
+
+    @Value("${bis.watch.debounce-ms:2000}")
+    private long watchDebounceMs;
+
+    private ScheduledExecutorService reloadExecutor;
+    private WatchService watchService;
+    // Watcher thread'i yükleme sürerken beklemesin diye loadBisData'nın monitor'ünden ayrı
+    private final Object reloadLock = new Object();
+    private ScheduledFuture<?> pendingReload;
+
     @Autowired
     public BisGearService(ClassColorCodeHelper classColorCodeHelper) {
         this.classColorCodeHelper = classColorCodeHelper;
-        loadBisData();
     }
 
-    private void loadBisData() {
-        try {
-            InputStream inputStream = new ClassPathResource("bis_data.json").getInputStream();
-            Map<String, Map<String, Map<String, Object>>> bisData = objectMapper.readValue(
-                    inputStream,
-                    new TypeReference<Map<String, Map<String, Map<String, Object>>>>() {
-                    }
-            );
-            cache.putAll(bisData);
-            logger.info("BIS data loaded successfully. Cache size: {}", cache.size());
-        } catch (IOException e) {
-            logger.error("Error loading BIS data", e);
-        }
-    }
+    /**
+     * Ayarlar enjekte edildikten sonra veriyi bir kez yükler; dış dosya varsa o, yoksa classpath kullanılır.
+     */
+    @PostConstruct
+    void start() {
+        reloadExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bis-data-reload");
+            thread.setDaemon(true);
+            return thread;
+        });
 
-    public void refreshCache() {
-        cache.clear();
         loadBisData();
-        logger.info("BIS data cache refreshed. New cache size: {}", cache.size());
-    }
-
-    public Map<String, Map<String, Object>> getBisGear(String className, String specName, String heroTalent) {
-        // Format class and spec names
-        String formattedClassName = formatName(className);
-        String formattedSpecName = formatName(specName);
-        String formattedHeroTalent = formatName(heroTalent);
-
-        // If hero talent is specified, get BIS gear for that specific hero talent
-        if (formattedHeroTalent != null && !formattedHeroTalent.isEmpty()) {
-            String key = buildKey(formattedClassName, formattedSpecName, formattedHeroTalent);
-            logger.info("Looking for specific hero talent key: {} in cache", key);
-
-            if (cache.containsKey(key)) {
-                return cache.get(key);
-            } else {
-                logger.info("Key not found: {}. Available keys: {}", key, cache.keySet());
-                return new HashMap<>();
-            }
+        // Dosya henüz yoksa da izlenir; oluşturulduğunda yüklenir
+        if (watchEnabled && dataFilePath != null && !dataFilePath.isBlank()) {
+            startWatcher(Paths.get(dataFilePath));
         }
+    }
 
-        // If hero talent is not specified, get BIS gear for all hero talents of that class and spec
-        Map<String, Map<String, Object>> result = new HashMap<>();
-
-        for (String key : cache.keySet()) {
-            // Check if the key starts with the class and spec
-            if (key.startsWith(formattedClassName + "_" + formattedSpecName)) {
-                logger.info("Found matching key: {}", key);
-
-                // Get BIS gear for this hero talent
-                Map<String, Map<String, Object>> bisGear = cache.get(key);
-
-                // Add hero talent name to each item's source
-                String heroTalentName = key.substring((formattedClassName + "_" + formattedSpecName + "_").length());
-
-                // Add items to result
-                for (Map.Entry<String, Map<String, Object>> entry : bisGear.entrySet()) {
-                    String slot = entry.getKey();
-                    Map<String, Object> itemInfo = new HashMap<>(entry.getValue());
-
-                    // Add hero talent to source
-                    //String source = (String) itemInfo.get("source");
-                    //itemInfo.put("source", source + " (Hero Talent: " + heroTalentName + ")");
-
-                    // Add to result
-                    result.put(slot, itemInfo);
-                }
+    @PreDestroy
+    void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                logger.warn("Error closing BIS data watcher", e);
             }
         }
-
-        if (result.isEmpty()) {
-            logger.info("No BIS gear found for class: {} and spec: {}", formattedClassName, formattedSpecName);
+        if (reloadExecutor != null) {
+            reloadExecutor.shutdownNow();
         }
-
-        return result;
     }
 
-    public Map<String, Object> getBisGearForSlot(String slot, String className, String specName, String heroTalent) {
-        // Format slot name (only capitalize first letter, preserve spaces)
-        String formattedSlot = formatName(slot);
-
-        logger.info("Looking for slot: {} (formatted: {}) in bisGear", slot, formattedSlot);
-
-        // Get BIS gear for all hero talents
-        Map<String, Map<String, Object>> bisGear = getBisGear(className, specName, heroTalent);
-
-        // If slot is specified, get BIS gear for that specific slot
-        if (!formattedSlot.isEmpty()) {
-            logger.info("Available slots: {}", bisGear.keySet());
-
-            // Weapon/Main Hand için özel kontrol
-            if (formattedSlot.equalsIgnoreCase("Weapon") ||
-                    formattedSlot.equalsIgnoreCase("Weapon1") ||
-                    formattedSlot.equalsIgnoreCase("Mainhand") ||
-                    formattedSlot.equalsIgnoreCase("Main-hand") ||
-                    formattedSlot.equalsIgnoreCase("Main_hand") || formattedSlot.equalsIgnoreCase("Main hand") ||
-                    formattedSlot.replace("_", " ").equalsIgnoreCase("Main Hand")) {
-
-                // Main Hand slotunu ara
-                for (String key : bisGear.keySet()) {
-                    if (key.equalsIgnoreCase("Main Hand")) {
-                        logger.info("Found Main Hand slot for weapon query: {}", formattedSlot);
-                        return bisGear.get(key);
-                    }
-                }
-            }
-            
-            // Özel durumlar için kontrol
-            if (formattedSlot.equalsIgnoreCase("Trinket")) {
-                // Tüm trinketleri içeren bir map oluştur
-                Map<String, Object> allTrinkets = new HashMap<>();
-                for (String key : bisGear.keySet()) {
-                    if (key.startsWith("Trinket")) {
-                        allTrinkets.put(key, bisGear.get(key));
-                    }
-                }
-
-                if (!allTrinkets.isEmpty()) {
-                    logger.info("Found {} trinkets", allTrinkets.size());
-                    return allTrinkets;
-                }
-            } else if (formattedSlot.equalsIgnoreCase("Finger") || formattedSlot.equalsIgnoreCase("Ring")) {
-                // Tüm yüzükleri içeren bir map oluştur
-                Map<String, Object> allRings = new HashMap<>();
-                for (String key : bisGear.keySet()) {
-                    if (key.startsWith("Finger")) {
-                        allRings.put(key, bisGear.get(key));
+    /**
+     * Veriyi yeni bir catalog'a ayrıştırır ve tek atamayla yayınlar. Bozuk veya boş veri reddedilir, mevcut catalog korunur.
+     *
+     * @return yeni veri yayınlandıysa true
+     */
+    private synchronized boolean loadBisData() {
+        Path dataFile = externalDataFile();
+        String source = dataFile != null ? dataFile.toString() : "classpath:bis_data.json";
+        try (InputStream inputStream = dataFile != null ? Files.newInputStream(dataFile) : new ClassPathResource("bis_data.json").getInputStream()) {
+            Map<String, Map<String, Map<String, Object>>> bisData = objectMapper.readValue(
+                    inputStream,
+                    new TypeReference<Map<String, Map<String, Map<String, Object>>>>() {
                     }
-                }
-
-                if (!allRings.isEmpty()) {
-                    logger.info("Found {} rings", allRings.size());
-                    return allRings;
-                }
-            }
-            
-            // Try exact match first
-            if (bisGear.containsKey(formattedSlot)) {
-                return bisGear.get(formattedSlot);
-            }
-
-            // If exact match fails, try case-insensitive match
-            for (String key : bisGear.keySet()) {
-                if (key.equalsIgnoreCase(formattedSlot)) {
-                    logger.info("Found case-insensitive match for slot: {} -> {}", formattedSlot, key);
-                    return bisGear.get(key);
-                }
-            }
-
-            // If case-insensitive match fails, try partial match
-            for (String key : bisGear.keySet()) {
-                if (key.toLowerCase().contains(formattedSlot.toLowerCase())) {
-                    logger.info("Found partial match for slot: {} -> {}", formattedSlot, key);
-                    return bisGear.get(key);
-                }
+            );
+            if (bisData == null || bisData.isEmpty()) {
+                logger.warn("Rejected BIS data from {}: no profiles. Keeping current cache size: {}", source, catalog.index().size());
+                return false;
             }
 
-            // If all else fails, try matching without spaces or with spaces
-            for (String key : bisGear.keySet()) {
-                String keyNoSpaces = key.replace(" ", "").toLowerCase();
-                String slotNoSpaces = formattedSlot.replace(" ", "").toLowerCase();
-
-                if (keyNoSpaces.equals(slotNoSpaces) ||
-                        key.replace(" ", "_").equalsIgnoreCase(formattedSlot) ||
-                        formattedSlot.replace("_", " ").equalsIgnoreCase(key)) {
-                    logger.info("Found match by removing/replacing spaces: {} -> {}", formattedSlot, key);
-                    return bisGear.get(key);
-                }
-            }
-            
-            logger.info("No match found for slot: {}", formattedSlot);
-            return new HashMap<>();
+            BisGearIndex index = BisGearIndex.compile(bisData);
+            catalog = new BisCatalog(index, buildEmbeds(index));
+            logger.info("BIS data loaded successfully from {}. Cache size: {}", source, index.size());
+            return true;
+        } catch (Exception e) {
+            logger.error("Rejected BIS data from {}. Keeping current cache size: {}", source, catalog.index().size(), e);
+            return false;
         }
-
-        // If slot is not specified, return all slots
-        return new HashMap<>();
     }
 
-    private String formatName(String name) {
-        if (name == null || name.isEmpty()) {
-            return "";
-        }
-
-        // Tam eşleşme kontrolü - özel sınıf adları için
-        if (name.equalsIgnoreCase("hunter")) {
-            return "Hunter";
-        }
-        if (name.equalsIgnoreCase("demon hunter") || name.equalsIgnoreCase("demonhunter") || name.equalsIgnoreCase("dh")) {
-            return "Demon_Hunter";
-        }
-
-        // Sınıf kontrolü (en genel kategori)
-        WowClassEnum wowClass = WowClassEnum.fromString(name);
-        if (wowClass != null) {
-            return wowClass.getFormattedName();
-        }
-
-        // Spec kontrolü (sınıftan sonra en genel kategori)
-        WowSpecEnum spec = WowSpecEnum.fromString(name);
-        if (spec != null) {
-            return spec.getFormattedName();
-        }
-
-        // Slot kontrolü
-        WowSlotEnum slot = WowSlotEnum.fromString(name);
-        if (slot != null) {
-            return slot.getFormattedName();
-        }
-
-        // Hero Talent kontrolü (en spesifik kategori)
-        WowHeroTalentEnum heroTalent = WowHeroTalentEnum.fromString(name);
-        if (heroTalent != null) {
-            return heroTalent.getFormattedName();
+    /**
+     * Veriyi arka planda yeniden yükler; yükleme sırasında sorgular eski catalog'dan cevaplanmaya devam eder.
+     */
+    public CompletableFuture<Boolean> refreshCache() {
+        if (reloadExecutor == null) {
+            return CompletableFuture.completedFuture(loadBisData());
         }
-
-        // Hiçbir eşleşme bulunamazsa, ilk harfi büyük yap
-        return name.substring(0, 1).toUpperCase() + name.substring(1).toLowerCase();
+        return CompletableFuture.supplyAsync(this::loadBisData, reloadExecutor);
     }
 
-    private String formatClassName(String className) {
-        if (className == null || className.isEmpty()) {
-            return "";
+    private Path externalDataFile() {
+        if (dataFilePath == null || dataFilePath.isBlank()) {
+            return null;
         }
+        Path dataFile = Paths.get(dataFilePath);
+        return Files.isRegularFile(dataFile) ? dataFile : null;
+    }
 
-        // WowClassEnum kullanarak sınıf adını düzelt
-        WowClassEnum wowClass = WowClassEnum.fromString(className);
-        if (wowClass != null) {
-            return wowClass.getFormattedName();
-        }
-
-        // Enum'da bulunamazsa manuel olarak düzelt
-        String formattedName = className.trim();
-
-        // Özel durumlar
-        if (formattedName.equalsIgnoreCase("dk") || formattedName.equalsIgnoreCase("death knight")) {
-            return "Death_Knight";
-        } else if (formattedName.equalsIgnoreCase("dh") || formattedName.equalsIgnoreCase("demon hunter")) {
-            return "Demon_Hunter";
+    private void startWatcher(Path dataFile) {
+        Path directory = dataFile.toAbsolutePath().getParent();
+        try {
+            watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            logger.error("Could not watch BIS data directory {}", directory, e);
+            return;
         }
 
-        // Genel düzeltme
-        String[] parts = formattedName.split("_| ");
-        StringBuilder result = new StringBuilder();
+        Thread watcher = new Thread(() -> watch(dataFile.getFileName()), "bis-data-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+        logger.info("Watching {} for BIS data changes", dataFile);
+    }
 
-        for (int i = 0; i < parts.length; i++) {
-            if (parts[i].length() > 0) {
-                result.append(parts[i].substring(0, 1).toUpperCase());
-                if (parts[i].length() > 1) {
-                    result.append(parts[i].substring(1).toLowerCase());
+    private void watch(Path fileName) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (fileName.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    scheduleReload();
+                }
+                if (!key.reset()) {
+                    logger.warn("BIS data directory is no longer accessible, stopped watching");
+                    return;
                 }
             }
-
-            if (i < parts.length - 1) {
-                result.append("_");
-            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Kapanışta beklenen durum
         }
-
-        return result.toString();
     }
 
-    private String formatSpecName(String specName) {
-        if (specName == null || specName.isEmpty()) {
-            return "";
-        }
-
-        // WowSpecEnum kullanarak spec adını düzelt
-        WowSpecEnum wowSpec = WowSpecEnum.fromString(specName);
-        if (wowSpec != null) {
-            return wowSpec.getFormattedName();
-        }
-
-        // Enum'da bulunamazsa manuel olarak düzelt
-        String formattedName = specName.trim();
-
-        // Özel durumlar
-        if (formattedName.equalsIgnoreCase("bm") || formattedName.equalsIgnoreCase("beast mastery")) {
-            return "Beast_Mastery";
-        }
-
-        // Genel düzeltme
-        String[] parts = formattedName.split("_| ");
-        StringBuilder result = new StringBuilder();
-
-        for (int i = 0; i < parts.length; i++) {
-            if (parts[i].length() > 0) {
-                result.append(parts[i].substring(0, 1).toUpperCase());
-                if (parts[i].length() > 1) {
-                    result.append(parts[i].substring(1).toLowerCase());
-                }
+    // Dosya yazılırken gelen art arda olaylar tek bir yüklemeye indirgenir
+    private void scheduleReload() {
+        synchronized (reloadLock) {
+            if (pendingReload != null) {
+                pendingReload.cancel(false);
             }
-
-            if (i < parts.length - 1) {
-                result.append("_");
+            try {
+                pendingReload = reloadExecutor.schedule(this::loadBisData, watchDebounceMs, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // Kapanış sırasında
             }
         }
-
-        return result.toString();
     }
 
-    private String formatHeroTalentName(String heroTalent) {
-        if (heroTalent == null || heroTalent.isEmpty()) {
-            return "";
-        }
-
-        // WowHeroTalentEnum kullanarak hero talent adını düzelt
-        WowHeroTalentEnum wowHeroTalent = WowHeroTalentEnum.fromString(heroTalent);
-        if (wowHeroTalent != null && !wowHeroTalent.getFormattedName().isEmpty()) {
-            return wowHeroTalent.getFormattedName();
-        }
-
-        // Enum'da bulunamazsa manuel olarak düzelt
-        String formattedName = heroTalent.trim();
-
-        // Özel durumlar
-        if (formattedName.equalsIgnoreCase("rota") ||
-                formattedName.equalsIgnoreCase("rider of the apocalypse") ||
-                formattedName.equalsIgnoreCase("apocalypse")) {
-            return "Rider";
-        }
-
-        // Genel düzeltme
-        String[] parts = formattedName.split("_| ");
-        StringBuilder result = new StringBuilder();
-
-        for (int i = 0; i < parts.length; i++) {
-            if (parts[i].length() > 0) {
-                result.append(parts[i].substring(0, 1).toUpperCase());
-                if (parts[i].length() > 1) {
-                    result.append(parts[i].substring(1).toLowerCase());
-                }
-            }
+    BisGearIndex currentIndex() {
+        return catalog.index();
+    }
 
-            if (i < parts.length - 1) {
-                result.append("_");
+    /**
+     * Hero talent verilmişse o profilin, verilmemişse spec'in tüm hero talent'larının birleşik slot haritası.
+     * Dönen harita index'e aittir ve değiştirilemez.
+     */
+    public Map<WowSlotEnum, BisItem> getBisGear(String className, String specName, String heroTalent) {
+        if (heroTalent != null && !heroTalent.isEmpty()) {
+            BisGearIndex.HeroTalentGear heroGear = catalog.index().findHeroTalent(className, specName, heroTalent);
+            if (heroGear == null) {
+                logger.info("No BIS gear found for class: {}, spec: {}, hero talent: {}", className, specName, heroTalent);
+                return Map.of();
             }
+            return heroGear.items();
         }
 
-        return result.toString();
+        BisGearIndex.SpecGear specGear = catalog.index().findSpec(className, specName);
+        if (specGear == null) {
+            logger.info("No BIS gear found for class: {} and spec: {}", className, specName);
+            return Map.of();
+        }
+        return specGear.merged();
     }
 
     /**
-     * Sınıf, spec ve hero talent adlarını birleştirerek önbellek anahtarı oluşturur
+     * İstenen slottaki item'lar; "Trinket" ve "Finger/Ring" iki slotu birlikte döner.
      */
-    private String buildKey(String className, String specName, String heroTalent) {
-        // Sınıf adını düzelt (ilk harfi büyük, diğerleri küçük)
-        String formattedClassName = formatClassName(className);
-
-        // Spec adını düzelt (ilk harfi büyük, diğerleri küçük)
-        String formattedSpecName = formatSpecName(specName);
-
-        // Hero talent adını düzelt
-        String formattedHeroTalent = formatHeroTalentName(heroTalent);
-        
-        // Anahtar oluştur
-        String key = formattedClassName;
+    public Map<WowSlotEnum, BisItem> getBisGearForSlot(String slot, String className, String specName, String heroTalent) {
+        return selectSlots(getBisGear(className, specName, heroTalent), slot);
+    }
 
-        if (formattedSpecName != null && !formattedSpecName.isEmpty()) {
-            key += "_" + formattedSpecName;
+    private Map<WowSlotEnum, BisItem> selectSlots(Map<WowSlotEnum, BisItem> bisGear, String slot) {
+        Map<WowSlotEnum, BisItem> selected = new EnumMap<>(WowSlotEnum.class);
+        for (WowSlotEnum resolved : BisGearIndex.resolveSlots(slot)) {
+            BisItem item = bisGear.get(resolved);
+            if (item != null) {
+                selected.put(resolved, item);
+            }
         }
 
-        if (formattedHeroTalent != null && !formattedHeroTalent.isEmpty()) {
-            key += "_" + formattedHeroTalent;
+        if (selected.isEmpty()) {
+            logger.info("No match found for slot: {}", slot);
         }
-
-        logger.info("Building key from: className={}, specName={}, heroTalent={}", formattedClassName, formattedSpecName, formattedHeroTalent);
-        logger.info("Generated key: {}", key);
-        
-        return key;
+        return selected;
     }
 
     public Map<String, String> fetchBisGearWithSelenium(String slot, String className, String specName, String heroTalent) {
         // Bu metod sadece test amaçlı olarak burada bulunuyor
         // Gerçek uygulamada Selenium kullanmıyoruz, önceden hazırlanmış JSON dosyasını kullanıyoruz
-        Map<String, Object> itemInfo = getBisGearForSlot(slot, className, specName, heroTalent);
+        Map<WowSlotEnum, BisItem> items = getBisGearForSlot(slot, className, specName, heroTalent);
         Map<String, String> result = new HashMap<>();
 
-        if (itemInfo != null && !itemInfo.isEmpty()) {
-            result.put("name", (String) itemInfo.get("name"));
-            result.put("url", (String) itemInfo.get("url"));
-            //result.put("source", (String) itemInfo.get("source"));
-            result.put("stats", (String) itemInfo.get("stats"));
+        if (!items.isEmpty()) {
+            BisItem item = items.values().iterator().next();
+            result.put("name", item.name());
+            result.put("url", item.url());
+            //result.put("source", item.source());
+            result.put("stats", item.stats());
         }
 
         return result;
     }
 
     /**
-     * Belirli bir slot, sınıf, spec ve hero talent için BIS ekipman bilgilerini içeren bir Discord embed oluşturur.
+     * Belirli bir slot, sınıf, spec ve hero talent için önceden üretilmiş BIS embed'ini döner.
      * Eğer hero talent belirtilmemişse, tüm hero talent'lar için ayrı ayrı embed'ler döndürür.
      *
-     * @param slot Ekipman slotu (Head, Neck, Shoulders, vb.)
+     * @param slot Ekipman slotu (Head, Neck, Shoulders, vb.) - Boş bırakılırsa tüm slotlar gösterilir
      * @param className Karakter sınıfı (Death_Knight, Mage, vb.)
      * @param specName Spec adı (Blood, Frost, vb.)
      * @param heroTalent Hero talent adı (Deathbringer, Frostfire, vb.)
-     * @return BIS ekipman bilgilerini içeren bir EmbedBuilder listesi
+     * @return BIS ekipman embed'leri; sınıf, spec, hero talent veya slot bulunamazsa boş liste
      */
-    public List<EmbedBuilder> createBisGearEmbed(String slot, String className, String specName, String heroTalent) {
-        List<EmbedBuilder> embeds = new ArrayList<>();
-        
-        // Format names
-        String formattedClassName = formatName(className);
-        String formattedSpecName = formatName(specName);
-        String formattedHeroTalent = formatName(heroTalent);
-        String formattedSlot = formatName(slot);
-
-        // Hero talent belirtilmemişse, tüm hero talent'lar için ayrı ayrı embed oluştur
-        if (formattedHeroTalent == null || formattedHeroTalent.isEmpty()) {
+    public List<MessageEmbed> createBisGearEmbed(String slot, String className, String specName, String heroTalent) {
+        if (heroTalent == null || heroTalent.isEmpty()) {
             return createBisGearEmbedsForAllHeroTalents(className, specName, slot);
         }
-        
-        // Sınıf rengini al
-        Color classColor;
-        try {
-            classColor = Color.decode(classColorCodeHelper.getClassColorCode(formattedClassName));
-            logger.info("Using class color for {}: {}", formattedClassName, classColor);
-        } catch (Exception e) {
-            logger.warn("Could not get class color for {}. Using default color.", formattedClassName);
-            classColor = Color.GRAY; // Varsayılan renk
-        }
-        
-        // Embed oluştur
-        EmbedBuilder embed = new EmbedBuilder();
-        embed.setColor(classColor);
-
-        // Başlık oluştur
-        String title = formattedSlot.isEmpty() ? "All Slots" : formattedSlot;
 
-        String specTitle = formattedSpecName.isEmpty() ? "All Specs" : formattedSpecName;
-        if (!formattedHeroTalent.isEmpty()) {
-            specTitle += " (" + formattedHeroTalent + ")";
+        BisCatalog current = catalog;
+        BisGearIndex.HeroTalentGear heroGear = current.index().findHeroTalent(className, specName, heroTalent);
+        if (heroGear == null) {
+            logger.info("No BIS gear found for class: {}, spec: {}, hero talent: {}", className, specName, heroTalent);
+            return List.of();
         }
 
-        embed.setTitle("BIS Gear for " + formattedClassName.replace("_", " ") + " " + specTitle + " - " + title);
-
-        // BIS ekipman bilgilerini al
-        if (formattedSlot.isEmpty()) {
-            // Tüm slotlar için BIS ekipmanları göster
-            Map<String, Map<String, Object>> allGear = getBisGear(className, specName, heroTalent);
-
-            if (allGear.isEmpty()) {
-                embed.setDescription("No BIS gear information found for this spec and hero talent.");
-            } else {
-                // Her slot için ayrı bir field oluştur
-                for (Map.Entry<String, Map<String, Object>> entry : allGear.entrySet()) {
-                    String slotName = entry.getKey();
-                    Map<String, Object> slotInfo = entry.getValue();
-
-                    String itemName = (String) slotInfo.get("name");
-                    String itemUrl = (String) slotInfo.get("url");
-                    String stats = (String) slotInfo.get("stats");
-
-                    StringBuilder fieldContent = new StringBuilder();
-                    fieldContent.append("[").append(itemName).append("](").append(itemUrl).append(")");
-
-                    // Stats bilgisini ekle (eğer varsa)
-                    if (stats != null && !stats.isEmpty()) {
-                        stats = truncateStats(stats);
-                        if (!stats.isEmpty()) {
-                            fieldContent.append("\n").append(stats).append("\n");
-                        }
-                    }
-
-                    embed.addField(slotName, fieldContent.toString(), false);
-                }
-            }
-        } else {
-            // Belirli bir slot için BIS ekipmanı göster
-            Map<String, Object> itemInfo = getBisGearForSlot(slot, className, specName, heroTalent);
-
-            if (itemInfo.isEmpty()) {
-                embed.setDescription("No BIS gear information found for this slot, spec, and hero talent.");
-            } else if (formattedSlot.equalsIgnoreCase("Trinket") || formattedSlot.equalsIgnoreCase("Finger") || formattedSlot.equalsIgnoreCase("Ring")) {
-                // Birden fazla trinket veya yüzük için
-                for (Map.Entry<String, Object> entry : itemInfo.entrySet()) {
-                    String slotName = entry.getKey();
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> slotInfo = (Map<String, Object>) entry.getValue();
-
-                    String itemName = (String) slotInfo.get("name");
-                    String itemUrl = (String) slotInfo.get("url");
-                    String stats = (String) slotInfo.get("stats");
-
-                    StringBuilder fieldContent = new StringBuilder();
-                    fieldContent.append("[").append(itemName).append("](").append(itemUrl).append(")");
-
-                    if (stats != null && !stats.isEmpty()) {
-                        stats = truncateStats(stats);
-                        if (!stats.isEmpty()) {
-                            fieldContent.append("\n").append(stats).append("\n");
-                        }
-                    }
-
-                    embed.addField(slotName, fieldContent.toString(), false);
-                }
-            } else {
-                // Tek bir slot için
-                String itemName = (String) itemInfo.get("name");
-                String itemUrl = (String) itemInfo.get("url");
-                String stats = (String) itemInfo.get("stats");
-
-                StringBuilder fieldContent = new StringBuilder();
-                fieldContent.append("[").append(itemName).append("](").append(itemUrl).append(")");
-
-                if (stats != null && !stats.isEmpty()) {
-                    stats = truncateStats(stats);
-                    if (!stats.isEmpty()) {
-                        fieldContent.append("\n").append(stats).append("\n");
-                    }
-                }
-
-                embed.addField("Item", fieldContent.toString(), false);
-            }
-        }
-
-        embed.setFooter("Powered by Azerite!\nVisit -> https://azerite.app\nDonate -> https://www.patreon.com/Shadlynn/membership", "https://i.imgur.com/fK2PvPV.png");
-
-        embeds.add(embed);
-        return embeds;
+        MessageEmbed embed = current.embeds().get(heroGear).select(slot);
+        return embed != null ? List.of(embed) : List.of();
     }
 
     // Stats bilgisini kısalt ve düzenle
@@ -729,165 +477,139 @@ public class BisGearService {
     }
 
     /**
-     * Belirli bir sınıf ve spec için tüm hero talent'ların BIS ekipman bilgilerini içeren Discord embed'leri oluşturur.
+     * Belirli bir sınıf ve spec için tüm hero talent'ların önceden üretilmiş BIS embed'lerini döner.
      * Eğer slot belirtilmişse, sadece o slot için bilgileri gösterir.
      *
      * @param className Karakter sınıfı (Death_Knight, Mage, vb.)
      * @param specName  Spec adı (Blood, Frost, vb.)
      * @param slot      Ekipman slotu (Head, Neck, Shoulders, vb.) - Boş bırakılırsa tüm slotlar gösterilir
-     * @return BIS ekipman bilgilerini içeren EmbedBuilder listesi
+     * @return BIS ekipman embed'leri
      */
-    public List<EmbedBuilder> createBisGearEmbedsForAllHeroTalents(String className, String specName, String slot) {
-        List<EmbedBuilder> embeds = new ArrayList<>();
-        String formattedClassName = formatName(className);
-        String formattedSpecName = formatName(specName);
-        String formattedSlot = formatName(slot);
-
-        // Sınıf ve spec için tüm hero talent'ları bul
-        boolean foundAnyHeroTalent = false;
-        String searchPrefix = formattedClassName + "_" + formattedSpecName + "_";
-        
-        for (String key : cache.keySet()) {
-            if (key.startsWith(searchPrefix)) {
-                foundAnyHeroTalent = true;
-                // Extract hero talent name from key
-                String heroTalentName = key.substring(searchPrefix.length());
-
-                // Bu hero talent için bir embed oluştur
-                EmbedBuilder embed = createEmbedForHeroTalent(formattedClassName, formattedSpecName, heroTalentName, formattedSlot, cache.get(key));
+    public List<MessageEmbed> createBisGearEmbedsForAllHeroTalents(String className, String specName, String slot) {
+        BisCatalog current = catalog;
+        BisGearIndex.SpecGear specGear = current.index().findSpec(className, specName);
+        if (specGear == null) {
+            logger.info("No BIS gear found for class: {} and spec: {}", className, specName);
+            return List.of();
+        }
+
+        // Sınıf ve spec için her hero talent'a bir embed
+        List<MessageEmbed> embeds = new ArrayList<>(specGear.heroTalents().size());
+        for (BisGearIndex.HeroTalentGear heroGear : specGear.heroTalents()) {
+            MessageEmbed embed = current.embeds().get(heroGear).select(slot);
+            if (embed != null) {
                 embeds.add(embed);
             }
         }
+        return embeds;
+    }
 
-        // Eğer hero talent bulunamadıysa, doğrudan sınıf_spec anahtarını kontrol et
-        if (!foundAnyHeroTalent) {
-            String directKey = formattedClassName + "_" + formattedSpecName;
-            if (cache.containsKey(directKey)) {
-                // Hero talent olmadan doğrudan spec için bir embed oluştur
-                EmbedBuilder embed = createEmbedForHeroTalent(formattedClassName, formattedSpecName, "", formattedSlot, cache.get(directKey));
-                embeds.add(embed);
+    // Eski metodu yeni metoda yönlendir
+    public List<MessageEmbed> createBisGearEmbedsForAllHeroTalents(String className, String specName) {
+        return createBisGearEmbedsForAllHeroTalents(className, specName, "");
+    }
+
+    /**
+     * Her hero talent için "tüm slotlar" ve slot başına embed'leri üretir. Trinket ve Finger iki slotu birlikte gösterir.
+     */
+    private Map<BisGearIndex.HeroTalentGear, HeroTalentEmbeds> buildEmbeds(BisGearIndex index) {
+        Map<BisGearIndex.HeroTalentGear, HeroTalentEmbeds> embeds = new IdentityHashMap<>();
+        for (BisGearIndex.SpecGear specGear : index.specs()) {
+            Color classColor = classColor(specGear.className());
+
+            // Yalın profil adlandırılmış hero talent'ların yanında sadece alias üzerinden erişilebilir
+            List<BisGearIndex.HeroTalentGear> heroGears = new ArrayList<>(specGear.heroTalents());
+            heroGears.addAll(specGear.heroTalentsByAlias().values());
+            for (BisGearIndex.HeroTalentGear heroGear : heroGears) {
+                if (embeds.containsKey(heroGear)) {
+                    continue;
+                }
+                String title = "BIS Gear for " + specGear.className().replace("_", " ") + " " + specGear.name().replace("_", " ")
+                        + (heroGear.name().isEmpty() ? "" : " (" + heroGear.name() + ")");
+
+                MessageEmbed allSlots = buildEmbed(title + " - All Slots", classColor, heroGear.items(), "All Slots");
+                Map<WowSlotEnum, MessageEmbed> slots = new EnumMap<>(WowSlotEnum.class);
+                for (WowSlotEnum slot : WowSlotEnum.values()) {
+                    Map<WowSlotEnum, BisItem> items = new EnumMap<>(WowSlotEnum.class);
+                    for (WowSlotEnum resolved : BisGearIndex.resolveSlots(slot.getFormattedName())) {
+                        BisItem item = heroGear.items().get(resolved);
+                        if (item != null) {
+                            items.put(resolved, item);
+                        }
+                    }
+                    slots.put(slot, buildEmbed(title + " - " + slot.getFormattedName(), classColor, items, slot.getFormattedName()));
+                }
+                embeds.put(heroGear, new HeroTalentEmbeds(allSlots, Collections.unmodifiableMap(slots)));
             }
         }
-
-        return embeds;
+        return Collections.unmodifiableMap(embeds);
     }
 
-    // Hero talent için embed oluşturan yardımcı metod
-    private EmbedBuilder createEmbedForHeroTalent(String className, String specName, String heroTalentName, String slot, Map<String, Map<String, Object>> bisGear) {
-        EmbedBuilder embed = new EmbedBuilder();
-
-        // Sınıf rengini al
-        Color classColor;
+    private Color classColor(String className) {
         try {
-            classColor = Color.decode(classColorCodeHelper.getClassColorCode(className));
-            logger.info("Using class color for {}: {}", className, classColor);
+            return Color.decode(classColorCodeHelper.getClassColorCode(className));
         } catch (Exception e) {
             logger.warn("Could not get class color for {}. Using default color.", className);
-            classColor = Color.GRAY; // Varsayılan renk
+            return Color.GRAY; // Varsayılan renk
         }
+    }
 
-        embed.setColor(classColor);
-
-        // Başlık oluştur
-        String title = "BIS Gear for " + className + " " + specName;
-        if (!heroTalentName.isEmpty()) {
-            title += " (" + heroTalentName + ")";
-        }
-        if (!slot.isEmpty()) {
-            title += " - " + slot;
+    private MessageEmbed buildEmbed(String title, Color color, Map<WowSlotEnum, BisItem> items, String slotName) {
+        EmbedBuilder embed = createEmbed(title, color, items, slotName, true);
+        if (!embed.isValidLength()) {
+            // Discord'un 6000 karakter sınırı aşılırsa stat'lar olmadan sadece item linkleri gösterilir
+            embed = createEmbed(title, color, items, slotName, false);
         }
-        embed.setTitle(title);
+        return embed.build();
+    }
 
-        // Slot belirtilmişse, sadece o slotu göster
-        if (!slot.isEmpty()) {
-            // Özel durumlar için kontrol (Weapon, Trinket, Finger)
-            if (slot.equalsIgnoreCase("Weapon") ||
-                    slot.equalsIgnoreCase("Weapon1") ||
-                    slot.equalsIgnoreCase("Mainhand") ||
-                    slot.equalsIgnoreCase("Main-hand") ||
-                    slot.equalsIgnoreCase("Main_hand") ||
-                    slot.equalsIgnoreCase("Main hand") ||
-                    slot.replace("_", " ").equalsIgnoreCase("Main Hand")) {
-
-                // Main Hand slotunu ara
-                for (String slotKey : bisGear.keySet()) {
-                    if (slotKey.equalsIgnoreCase("Main Hand")) {
-                        Map<String, Object> slotInfo = bisGear.get(slotKey);
-                        addItemFieldToEmbed(embed, slotKey, slotInfo);
-                        break;
-                    }
-                }
-            } else if (slot.equalsIgnoreCase("Trinket")) {
-                // Tüm trinketleri göster
-                for (Map.Entry<String, Map<String, Object>> entry : bisGear.entrySet()) {
-                    if (entry.getKey().startsWith("Trinket")) {
-                        addItemFieldToEmbed(embed, entry.getKey(), entry.getValue());
-                    }
-                }
-            } else if (slot.equalsIgnoreCase("Finger") || slot.equalsIgnoreCase("Ring")) {
-                // Tüm yüzükleri göster
-                for (Map.Entry<String, Map<String, Object>> entry : bisGear.entrySet()) {
-                    if (entry.getKey().startsWith("Finger")) {
-                        addItemFieldToEmbed(embed, entry.getKey(), entry.getValue());
-                    }
-                }
-            } else {
-                // Diğer slotlar için tam eşleşme veya case-insensitive eşleşme ara
-                boolean found = false;
-
-                // Tam eşleşme
-                if (bisGear.containsKey(slot)) {
-                    addItemFieldToEmbed(embed, slot, bisGear.get(slot));
-                    found = true;
-                } else {
-                    // Case-insensitive eşleşme
-                    for (String slotKey : bisGear.keySet()) {
-                        if (slotKey.equalsIgnoreCase(slot)) {
-                            addItemFieldToEmbed(embed, slotKey, bisGear.get(slotKey));
-                            found = true;
-                            break;
-                        }
-                    }
-                }
+    private EmbedBuilder createEmbed(String title, Color color, Map<WowSlotEnum, BisItem> items, String slotName, boolean withStats) {
+        EmbedBuilder embed = new EmbedBuilder();
+        embed.setColor(color);
+        embed.setTitle(title);
 
-                if (!found) {
-                    embed.setDescription("No BIS gear information found for slot: " + slot);
-                }
-            }
-        } else {
-            // Slot belirtilmemişse, tüm slotları göster
-            for (Map.Entry<String, Map<String, Object>> entry : bisGear.entrySet()) {
-                addItemFieldToEmbed(embed, entry.getKey(), entry.getValue());
-            }
+        if (items.isEmpty()) {
+            embed.setDescription("No BIS gear information found for slot: " + slotName);
+        }
+        for (Map.Entry<WowSlotEnum, BisItem> entry : items.entrySet()) {
+            addItemFieldToEmbed(embed, entry.getKey().getFormattedName(), entry.getValue(), withStats);
         }
 
-        embed.setFooter("Powered by Azerite!\nVisit -> https://azerite.app\nDonate -> https://www.patreon.com/Shadlynn/membership", "https://i.imgur.com/fK2PvPV.png");
-
+        embed.setFooter(FOOTER_TEXT, FOOTER_ICON);
         return embed;
     }
 
     // Yardımcı metod: Item bilgilerini embed'e ekler
-    private void addItemFieldToEmbed(EmbedBuilder embed, String slotName, Map<String, Object> slotInfo) {
-        String itemName = (String) slotInfo.get("name");
-        String itemUrl = (String) slotInfo.get("url");
-        String stats = (String) slotInfo.get("stats");
-
+    private void addItemFieldToEmbed(EmbedBuilder embed, String slotName, BisItem item, boolean withStats) {
         StringBuilder fieldContent = new StringBuilder();
-        fieldContent.append("[").append(itemName).append("](").append(itemUrl).append(")");
+        fieldContent.append("[").append(item.name()).append("](").append(item.url()).append(")");
 
         // Stats bilgisini ekle (eğer varsa)
-        if (stats != null && !stats.isEmpty()) {
+        String stats = item.stats();
+        if (withStats && stats != null && !stats.isEmpty()) {
             stats = truncateStats(stats);
             if (!stats.isEmpty()) {
                 fieldContent.append("\n").append(stats).append("\n");
             }
         }
 
+        if (fieldContent.length() > MessageEmbed.VALUE_MAX_LENGTH) {
+            fieldContent.setLength(MessageEmbed.VALUE_MAX_LENGTH - 3);
+            fieldContent.append("...");
+        }
         embed.addField(slotName, fieldContent.toString(), false);
     }
 
-    // Eski metodu yeni metoda yönlendir
-    public List<EmbedBuilder> createBisGearEmbedsForAllHeroTalents(String className, String specName) {
-        return createBisGearEmbedsForAllHeroTalents(className, specName, "");
+    private record BisCatalog(BisGearIndex index, Map<BisGearIndex.HeroTalentGear, HeroTalentEmbeds> embeds) {
+    }
+
+    private record HeroTalentEmbeds(MessageEmbed allSlots, Map<WowSlotEnum, MessageEmbed> slots) {
+        MessageEmbed select(String slot) {
+            if (slot == null || slot.isEmpty()) {
+                return allSlots;
+            }
+            WowSlotEnum resolved = WowSlotEnum.fromString(slot);
+            return resolved != null ? slots.get(resolved) : null;
+        }
     }
-} 
\ No newline at end of file
+}
@@ -1,31 +1,28 @@
 package followarcane.wow_lfg_discord_bot.application.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import followarcane.wow_lfg_discord_bot.application.util.ClassColorCodeHelper;
 import lombok.extern.slf4j.Slf4j;
 import net.dv8tion.jda.api.EmbedBuilder;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
 import java.awt.*;
 import java.text.DecimalFormat;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @Slf4j
 public class CharacterStatsService {
 
-    private final RestTemplate restTemplate;
+    private final RaiderIoClient raiderIoClient;
     private final ClassColorCodeHelper classColorCodeHelper;
     private final BattleNetApiService battleNetApiService;
 
     private final DecimalFormat df = new DecimalFormat("#,###.##");
 
-    public CharacterStatsService(RestTemplate restTemplate, ClassColorCodeHelper classColorCodeHelper,
+    public CharacterStatsService(RaiderIoClient raiderIoClient, ClassColorCodeHelper classColorCodeHelper,
                                  BattleNetApiService battleNetApiService) {
-        this.restTemplate = restTemplate;
+        this.raiderIoClient = raiderIoClient;
         this.classColorCodeHelper = classColorCodeHelper;
         this.battleNetApiService = battleNetApiService;
     }
@@ -35,15 +32,21 @@ public class CharacterStatsService {
      */
     public EmbedBuilder createCharacterStatsEmbed(String name, String realm, String region) {
         try {
-            // Karakter sınıfı ve görüntüsü için Raider.io API'den veri al
-            JsonNode raiderIoData = fetchRaiderIoData(name, realm, region);
-            if (raiderIoData == null) {
-                return createErrorEmbed("Character not found",
-                        "Could not find character: " + name + " on " + realm + "-" + region.toUpperCase());
+            // İki upstream paralel sorgulanır; süre sınırını aşan null döner
+            CompletableFuture<JsonNode> raiderIoFuture = raiderIoClient.fetchCharacterProfileAsync(name, realm, region);
+            CompletableFuture<JsonNode> statsFuture = battleNetApiService.fetchCharacterStatsAsync(name, realm.replace("-", " "), region);
+            JsonNode raiderIoData = raiderIoFuture.join();
+            JsonNode statsData = statsFuture.join();
+
+            if (raiderIoData == null && statsData == null) {
+                // Sadece Raider.io karakteri bulamadıysa "not found"; süre aşımı veya hata tekrar denenebilir
+                if (raiderIoClient.isKnownNotFound(name, realm, region)) {
+                    return createErrorEmbed("Character not found",
+                            "Could not find character: " + name + " on " + realm + "-" + region.toUpperCase());
+                }
+                return createErrorEmbed("Service unavailable",
+                        "Raider.io and Blizzard did not respond in time. Please try again in a few minutes.");
             }
-
-            // Blizzard API'den istatistik verilerini al
-            JsonNode statsData = fetchCharacterStats(name, realm, region);
             if (statsData == null) {
                 return createErrorEmbed("Stats not found",
                         "Could not fetch stats for: " + name + " on " + realm + "-" + region.toUpperCase());
@@ -57,66 +60,31 @@ public class CharacterStatsService {
         }
     }
 
-    /**
-     * Raider.io API'den karakter verilerini çeker
-     */
-    private JsonNode fetchRaiderIoData(String name, String realm, String region) {
-        try {
-            String raiderIoUrl = UriComponentsBuilder.fromHttpUrl("https://raider.io/api/v1/characters/profile")
-                    .queryParam("region", region)
-                    .queryParam("realm", realm)
-                    .queryParam("name", name)
-                    .queryParam("fields", "gear")
-                    .build()
-                    .toUriString();
-
-            log.info("Fetching Raider.io data from: {}", raiderIoUrl);
-            ResponseEntity<String> response = restTemplate.getForEntity(raiderIoUrl, String.class);
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                return new ObjectMapper().readTree(response.getBody());
-            }
-        } catch (Exception e) {
-            log.error("Error fetching Raider.io data: {}", e.getMessage(), e);
-        }
-        return null;
-    }
-
-    /**
-     * Blizzard API'den karakter istatistiklerini çeker
-     */
-    private JsonNode fetchCharacterStats(String name, String realm, String region) {
-        try {
-            // Realm adını düzelt (tire yerine boşluk kullan)
-            String formattedRealm = realm.replace("-", " ");
-            
-            // API isteği yap
-            return battleNetApiService.fetchCharacterStats(name, formattedRealm, region);
-        } catch (Exception e) {
-            log.error("Error fetching character stats: {}", e.getMessage(), e);
-            return null;
-        }
-    }
-
     /**
      * İstatistik embed'ini oluşturur
      */
     private EmbedBuilder buildStatsEmbed(JsonNode raiderIoData, JsonNode statsData, String name, String realm, String region) {
         EmbedBuilder embed = new EmbedBuilder();
 
-        // Karakter bilgilerini ayarla
-        String characterName = raiderIoData.get("name").asText();
-        String characterClass = raiderIoData.get("class").asText();
-        String characterRealm = raiderIoData.get("realm").asText();
-        String profileUrl = raiderIoData.get("profile_url").asText();
-        String thumbnailUrl = raiderIoData.get("thumbnail_url").asText();
+        if (raiderIoData != null) {
+            // Karakter bilgilerini ayarla
+            String characterName = raiderIoData.get("name").asText();
+            String characterClass = raiderIoData.get("class").asText();
+            String profileUrl = raiderIoData.get("profile_url").asText();
+            String thumbnailUrl = raiderIoData.get("thumbnail_url").asText();
 
-        // Sınıf rengini kullan
-        embed.setColor(Color.decode(classColorCodeHelper.getClassColorCode(characterClass)));
+            // Sınıf rengini kullan
+            embed.setColor(Color.decode(classColorCodeHelper.getClassColorCode(characterClass)));
 
-        // Başlık ve thumbnail
-        embed.setTitle(characterName + "'s Character Statistics", profileUrl);
-        embed.setThumbnail(thumbnailUrl);
+            // Başlık ve thumbnail
+            embed.setTitle(characterName + "'s Character Statistics", profileUrl);
+            embed.setThumbnail(thumbnailUrl);
+        } else {
+            // Raider.io cevap vermediyse istatistikler sınıf rengi ve görsel olmadan gösterilir
+            String characterName = statsData.path("character").path("name").asText(name);
+            embed.setColor(Color.GRAY);
+            embed.setTitle(characterName + "'s Character Statistics");
+        }
 
         // Ana istatistikler
         StringBuilder mainStats = new StringBuilder();
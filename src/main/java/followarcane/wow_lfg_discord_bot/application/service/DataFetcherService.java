@@ -1,30 +1,46 @@
 package followarcane.wow_lfg_discord_bot.application.service;
 
-import followarcane.wow_lfg_discord_bot.application.response.BossRankResponse;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import followarcane.wow_lfg_discord_bot.application.model.RecruitmentProfile;
 import followarcane.wow_lfg_discord_bot.application.response.CharacterInfoResponse;
 import followarcane.wow_lfg_discord_bot.application.response.RaidProgressionResponse;
-import followarcane.wow_lfg_discord_bot.application.util.ClassColorCodeHelper;
 import followarcane.wow_lfg_discord_bot.domain.model.UserSettings;
 import followarcane.wow_lfg_discord_bot.infrastructure.properties.ApiProperties;
+import followarcane.wow_lfg_discord_bot.infrastructure.properties.DiscordShardProperties;
+import followarcane.wow_lfg_discord_bot.infrastructure.service.lfg.LfgFeedState;
+import followarcane.wow_lfg_discord_bot.infrastructure.service.lfg.LfgFeedStateStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import net.dv8tion.jda.api.EmbedBuilder;
-import org.jetbrains.annotations.NotNull;
+import net.dv8tion.jda.api.entities.MessageEmbed;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.http.client.support.BasicAuthenticationInterceptor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
-import org.springframework.util.StringUtils;
 import org.springframework.web.client.RestTemplate;
 
-import java.awt.*;
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,162 +53,311 @@ public class DataFetcherService {
 
         try {
             String wowApi = "http://localhost:8080/api/v1/wdc/latest-lfg";
-            ResponseEntity<List<CharacterInfoResponse>> response = restTemplate.exchange(
-                    wowApi, HttpMethod.GET, null, new ParameterizedTypeReference<List<CharacterInfoResponse>>() {
-                    });
-            List<CharacterInfoResponse> data = response.getBody();
-
-            if (data != null && !data.isEmpty()) {
-                Set<CharacterInfoResponse> newData = new HashSet<>(data);
-                newData.removeAll(previousData);
-
-                if (!newData.isEmpty()) {
-                    String newCharacterNames = newData.stream()
-                            .map(c -> c.getName() + " (" + c.getRealm() + " " + c.getRegion() + ")")
-                            .collect(Collectors.joining(", "));
-                    log.info("[LFG_FETCH] New characters since last run: {} | count={}", newCharacterNames, newData.size());
-
-                    List<UserSettings> allSettings = discordService.getAllUserSettings().stream()
-                            .filter(settings -> settings.getChannel().getServer().isActive())
-                            .toList();
-
-                    Map<String, UserSettings> serverIdToSettings = new HashMap<>();
-                    for (UserSettings settings : allSettings) {
-                        String serverId = settings.getChannel().getServer().getServerId();
-                        if (!serverIdToSettings.containsKey(serverId)) {
-                            serverIdToSettings.put(serverId, settings);
-                        }
-                    }
-
-                    List<UserSettings> matchedLfgs = new ArrayList<>(serverIdToSettings.values());
-                    String serverNamesList = matchedLfgs.stream()
-                            .map(s -> s.getChannel().getServer().getServerName())
-                            .collect(Collectors.joining(", "));
-                    log.info("[LFG_FETCH] Servers to process (active, with LFG channel): {}", serverNamesList);
-
-                    int totalMessagesSent = 0;
-                    List<String> charactersWithZeroPosts = new ArrayList<>();
-
-                    for (CharacterInfoResponse character : newData) {
-                        String charKey = character.getName() + "|" + character.getRealm() + "|" + character.getRegion();
-                        List<String> postedServers = new ArrayList<>();
-                        List<String> skippedServers = new ArrayList<>();
-                        Map<MatchOutcome, List<String>> noMatchByReason = new EnumMap<>(MatchOutcome.class);
-                        for (MatchOutcome o : MatchOutcome.values()) {
-                            if (o != MatchOutcome.MATCH) noMatchByReason.put(o, new ArrayList<>());
-                        }
-
-                        for (UserSettings settings : matchedLfgs) {
-                            String serverName = settings.getChannel().getServer().getServerName();
-                            MatchOutcome outcome = characterMatchesSettings(character, settings, charKey);
-                            if (outcome == MatchOutcome.MATCH) {
-                                if (settings.getChannel().getLastSentCharacters().contains(character.getName())) {
-                                    skippedServers.add(serverName);
-                                    log.debug("[LFG_SKIPPED] character={} -> server=\"{}\" reason=already_in_lastSent list={}", charKey, serverName, settings.getChannel().getLastSentCharacters());
-                                } else {
-                                    postedServers.add(serverName);
-                                    String channelId = settings.getChannel().getChannelId();
-                                    log.info("[LFG_POSTED] character={} -> server=\"{}\" channel={}", charKey, serverName, channelId);
-                                    sendFilteredMessage(character, settings);
-                                }
-                            } else {
-                                noMatchByReason.get(outcome).add(serverName);
-                            }
-                        }
-
-                        totalMessagesSent += postedServers.size();
-                        if (postedServers.isEmpty()) {
-                            charactersWithZeroPosts.add(charKey);
-                        }
-
-                        logCharacterSummary(charKey, postedServers, skippedServers, noMatchByReason);
-                    }
-
-                    log.info("[LFG_FETCH] Run complete. New characters: {}. Total messages sent: {}. Characters with 0 posts: {}", newData.size(), totalMessagesSent, charactersWithZeroPosts.isEmpty() ? "none" : String.join(", ", charactersWithZeroPosts));
-                    previousData = new HashSet<>(data);
+            FetchCycle cycle = restTemplate.execute(wowApi, HttpMethod.GET, this::addFeedValidators, this::consumeFeed);
+
+            if (cycle == null) {
+                log.info("[LFG_FETCH] Feed not modified since last run.");
+            } else if (cycle.seenFingerprints.isEmpty()) {
+                log.warn("[LFG_FETCH] No data fetched or data is empty.");
+            } else {
+                if (cycle.newCharacters == 0) {
+                    log.info("[LFG_FETCH] No new data (total characters from API: {}). Characters are only processed when they first appear in the API or their data changes.", cycle.seenFingerprints.size());
                 } else {
-                    log.info("[LFG_FETCH] No new data (total characters from API: {}). Characters are only processed when they first appear in the API or right after bot restart.", data.size());
+                    log.info("[LFG_FETCH] Run complete. New characters: {}. Total messages queued: {}. Pending deliveries: {}. Characters with 0 posts: {}", cycle.newCharacters, cycle.totalMessagesSent, deliveryQueue.getPendingCount(), cycle.charactersWithZeroPosts.isEmpty() ? "none" : String.join(", ", cycle.charactersWithZeroPosts));
+                }
+                if (cycle.complete) {
+                    updateFeedState(cycle.responseHeaders, cycle.seenFingerprints);
+                } else {
+                    log.warn("[LFG_FETCH] Feed ended before the closing bracket; feed state not updated.");
                 }
-            } else {
-                log.warn("[LFG_FETCH] No data fetched or data is empty.");
             }
         } catch (Exception e) {
             log.error("[LFG_FETCH] Error fetching data", e);
         }
     }
 
-    private final DiscordBotService discordBotService;
+    private void addFeedValidators(ClientHttpRequest request) {
+        HttpHeaders requestHeaders = request.getHeaders();
+        if (feedState.getEtag() != null) {
+            requestHeaders.set(HttpHeaders.IF_NONE_MATCH, feedState.getEtag());
+        }
+        if (feedState.getLastModified() != null) {
+            requestHeaders.set(HttpHeaders.IF_MODIFIED_SINCE, feedState.getLastModified());
+        }
+    }
+
+    /**
+     * Feed'i Jackson streaming parser ile eleman eleman okur; yeni veya içeriği değişen her karakter okunduğu anda
+     * deserialize edilip işlenir, liste bellekte tutulmaz. Feed değişmediyse (304) null döner.
+     */
+    private FetchCycle consumeFeed(ClientHttpResponse response) throws IOException {
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            return null;
+        }
+
+        FetchCycle cycle = new FetchCycle(response.getHeaders());
+        try (JsonParser parser = objectMapper.createParser(response.getBody())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return cycle;
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+                if (token != JsonToken.START_OBJECT) {
+                    log.warn("[LFG_FETCH] Skipping non-object feed element: {}", token);
+                    parser.skipChildren();
+                    continue;
+                }
+                JsonNode node = parser.readValueAsTree();
+                String feedKey = feedKey(node);
+                String fingerprint = fingerprint(node);
+                cycle.seenFingerprints.put(feedKey, fingerprint);
+
+                if (!fingerprint.equals(feedState.getFingerprints().get(feedKey))) {
+                    processCharacter(cycle, feedKey, objectMapper.treeToValue(node, CharacterInfoResponse.class));
+                }
+            }
+            cycle.complete = token == JsonToken.END_ARRAY;
+            commitCompleted(cycle, true);
+        }
+        return cycle;
+    }
+
+    private void processCharacter(FetchCycle cycle, String feedKey, CharacterInfoResponse character) {
+        if (cycle.index == null) {
+            // İndeks sadece işlenecek ilk karakter geldiğinde kurulur; shard'ı başka process'te olan guild'ler o process'e bırakılır
+            List<UserSettings> managedSettings = discordService.getAllUserSettings().stream()
+                    .filter(settings -> shardProperties.managesGuild(settings.getChannel().getServer().getServerId()))
+                    .toList();
+            cycle.index = LfgSubscriptionIndex.build(managedSettings);
+            filterService.reloadFilters(cycle.index.getServerIds());
+
+            String serverNamesList = cycle.index.getSubscriptions().stream()
+                    .map(LfgSubscriptionIndex.Subscription::getServerName)
+                    .collect(Collectors.joining(", "));
+            log.info("[LFG_FETCH] Servers to process (active, with LFG channel): {}", serverNamesList);
+        }
+        LfgSubscriptionIndex index = cycle.index;
+        log.info("[LFG_FETCH] New character since last run: {} ({} {})", character.getName(), character.getRealm(), character.getRegion());
+
+        if (matchExecutor == null) {
+            commit(cycle, match(index, character));
+            return;
+        }
+
+        // Eşleştirme paralel yapılır, sonuçlar feed sırasıyla commit edilir; kanal içi sıra korunur
+        cycle.pendingMatches.addLast(new PendingMatch(feedKey, matchExecutor.submit(() -> match(index, character))));
+        commitCompleted(cycle, cycle.pendingMatches.size() >= maxPendingMatches);
+    }
+
+    /**
+     * Sıradaki tamamlanmış eşleştirmeleri feed sırasıyla commit eder. {@code waitForHead} true ise en baştaki
+     * eşleştirme bitene kadar beklenir (döngü sonu ve bekleyen sayısı sınırı aşıldığında).
+     * Eşleştirmesi başarısız olan karakter görülenlerden çıkarılır; bir sonraki döngüde yeniden işlenir.
+     */
+    private void commitCompleted(FetchCycle cycle, boolean waitForHead) {
+        Deque<PendingMatch> pending = cycle.pendingMatches;
+        while (!pending.isEmpty() && (waitForHead || pending.peekFirst().future().isDone())) {
+            PendingMatch head = pending.pollFirst();
+            try {
+                commit(cycle, head.future().get());
+            } catch (ExecutionException e) {
+                cycle.seenFingerprints.remove(head.feedKey());
+                log.error("[LFG_FETCH] Error matching character {}, will retry next run", head.feedKey(), e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                pending.forEach(match -> {
+                    match.future().cancel(true);
+                    cycle.seenFingerprints.remove(match.feedKey());
+                });
+                pending.clear();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Karakteri aday guild'lerle eşleştirir ve embed'leri render eder; paylaşılan duruma yazmaz, paralel çalışabilir.
+     */
+    private CharacterMatch match(LfgSubscriptionIndex index, CharacterInfoResponse character) {
+        CharacterMatch match = new CharacterMatch(character);
+
+        Collection<LfgSubscriptionIndex.Subscription> candidates = index.candidatesFor(character);
+        match.notSubscribedCount = index.size() - candidates.size();
+        if (candidates.isEmpty()) {
+            return match;
+        }
+
+        RecruitmentProfile profile = RecruitmentProfile.from(buildPlayerInfo(character));
+        LfgEmbedRenderer.CharacterEmbeds embeds = null;
+
+        for (LfgSubscriptionIndex.Subscription subscription : candidates) {
+            UserSettings settings = subscription.getSettings();
+            if (!filterService.shouldSendMessage(subscription.getServerId(), profile)) {
+                match.filteredServers.add(subscription.getServerName());
+            } else if (recentlySent.wasSentRecently(settings.getChannel().getChannelId(), match.dedupKey)) {
+                match.skippedServers.add(subscription.getServerName());
+                log.debug("[LFG_SKIPPED] character={} -> server=\"{}\" reason=sent_recently", match.charKey, subscription.getServerName());
+            } else {
+                if (embeds == null) {
+                    embeds = embedRenderer.forCharacter(character);
+                }
+                match.deliveries.add(new MatchedDelivery(subscription, embeds.render(settings)));
+            }
+        }
+        return match;
+    }
+
+    /**
+     * Eşleştirme sonucunu kuyruğa aktarır; sadece fetch thread'inde, feed sırasıyla çağrılır.
+     */
+    private void commit(FetchCycle cycle, CharacterMatch match) {
+        cycle.newCharacters++;
+        List<String> postedServers = new ArrayList<>();
+
+        for (MatchedDelivery delivery : match.deliveries) {
+            String serverName = delivery.subscription.getServerName();
+            String channelId = delivery.subscription.getSettings().getChannel().getChannelId();
+            // Aynı karakter bu döngüde daha önce kuyruğa alındıysa tekrar gönderme; kayıt teslimde işaretlenir
+            if (!cycle.enqueued.add(channelId + '|' + match.dedupKey) || recentlySent.wasSentRecently(channelId, match.dedupKey)) {
+                match.skippedServers.add(serverName);
+                continue;
+            }
+            postedServers.add(serverName);
+            log.info("[LFG_POSTED] character={} -> server=\"{}\" channel={}", match.charKey, serverName, channelId);
+            sendFilteredMessage(match, delivery);
+        }
+
+        cycle.totalMessagesSent += postedServers.size();
+        if (postedServers.isEmpty()) {
+            cycle.charactersWithZeroPosts.add(match.charKey);
+        }
+
+        logCharacterSummary(match.charKey, postedServers, match.skippedServers, match.filteredServers, match.notSubscribedCount);
+    }
+
+    private final DiscordDeliveryQueue deliveryQueue;
     private final DiscordService discordService;
     private final RecruitmentFilterService filterService;
+    private final RecentlySentRegistry recentlySent;
+
+    private final LfgEmbedRenderer embedRenderer;
+
+    private final DiscordShardProperties shardProperties;
+
+    @Value("${lfg.fetch.execution-mode:sequential}")
+    private String executionMode;
+
+    @Value("${lfg.fetch.max-pending-matches:256}")
+    private int maxPendingMatches;
+
+    // Sadece virtual-threads modunda oluşturulur
+    private ExecutorService matchExecutor;
 
-    private static ClassColorCodeHelper classColorCodeHelper;
+    private final LfgFeedStateStore feedStateStore;
+    private final ObjectMapper objectMapper;
 
-    private final RestTemplate restTemplate = new RestTemplate();
-    private Set<CharacterInfoResponse> previousData = new HashSet<>();
+    private final RestTemplate restTemplate;
+    private LfgFeedState feedState = new LfgFeedState();
+    // Alanlar sıralı yazılır; upstream alan sırasını değiştirse de parmak izi aynı kalır
+    private final ObjectWriter fingerprintWriter;
 
     @Autowired
-    public DataFetcherService(DiscordBotService discordBotService, ApiProperties apiProperties, DiscordService discordService, ClassColorCodeHelper classColorCodeHelper, RecruitmentFilterService filterService) {
-        this.discordBotService = discordBotService;
+    public DataFetcherService(DiscordDeliveryQueue deliveryQueue, ApiProperties apiProperties, DiscordService discordService, LfgEmbedRenderer embedRenderer, RecruitmentFilterService filterService, RecentlySentRegistry recentlySent, LfgFeedStateStore feedStateStore, ObjectMapper objectMapper, ClientHttpRequestFactory clientHttpRequestFactory, DiscordShardProperties shardProperties) {
+        this.deliveryQueue = deliveryQueue;
         this.discordService = discordService;
-        DataFetcherService.classColorCodeHelper = classColorCodeHelper;
+        this.embedRenderer = embedRenderer;
         this.filterService = filterService;
+        this.recentlySent = recentlySent;
+        this.feedStateStore = feedStateStore;
+        this.objectMapper = objectMapper;
+        this.fingerprintWriter = objectMapper.writer().with(JsonNodeFeature.WRITE_PROPERTIES_SORTED);
+        this.shardProperties = shardProperties;
 
         // Check if username and password are not null or empty
         Assert.notNull(apiProperties.getUsername(), "Username must not be null");
         Assert.notNull(apiProperties.getPassword(), "Password must not be null");
 
+        // Paylaşılan havuzu kullanır, basic auth sadece bu template'e eklenir
+        this.restTemplate = new RestTemplate(clientHttpRequestFactory);
         this.restTemplate.getInterceptors().add(new BasicAuthenticationInterceptor(apiProperties.getUsername(), apiProperties.getPassword()));
     }
 
+    @PostConstruct
+    void startMatchExecutor() {
+        if ("virtual-threads".equalsIgnoreCase(executionMode)) {
+            matchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            log.info("[LFG_FETCH] Character matching runs on virtual threads (max {} pending)", maxPendingMatches);
+        }
+    }
+
+    @PreDestroy
+    void stopMatchExecutor() {
+        if (matchExecutor != null) {
+            matchExecutor.shutdownNow();
+        }
+    }
+
+    @PostConstruct
+    void loadFeedState() {
+        LfgFeedState stored = feedStateStore.load();
+        if (stored != null) {
+            feedState = stored;
+            log.info("[LFG_FETCH] Restored feed state with {} known characters", stored.getFingerprints().size());
+        }
+    }
+
+    /**
+     * Bu döngüde görülen karakterlerin parmak izlerini ve HTTP validator'larını saklar; restart sonrası ilk döngü
+     * aynı karakterleri tekrar işlemez.
+     */
+    private void updateFeedState(HttpHeaders responseHeaders, Map<String, String> seenFingerprints) {
+        LfgFeedState state = new LfgFeedState();
+        state.setEtag(responseHeaders.getETag());
+        state.setLastModified(responseHeaders.getFirst(HttpHeaders.LAST_MODIFIED));
+        state.setFingerprints(seenFingerprints);
+        feedState = state;
+        feedStateStore.save(state);
+    }
+
+    /**
+     * Karakter verisinin SHA-256 parmak izi (hex). JsonNode.hashCode() 32 bit ve alanlar arası yer değiştiren
+     * değerlerde aynı kalabildiği için değişiklik tespitinde kullanılmaz.
+     */
+    private String fingerprint(JsonNode node) throws IOException {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(fingerprintWriter.writeValueAsBytes(node)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    static String feedKey(JsonNode node) {
+        return node.path("name").asText().toLowerCase(Locale.ROOT) + '|'
+                + node.path("realm").asText().toLowerCase(Locale.ROOT) + '|'
+                + node.path("region").asText().toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Per-character summary: which character was posted where, where not, and why.
      */
-    private void logCharacterSummary(String charKey, List<String> postedServers, List<String> skippedServers, Map<MatchOutcome, List<String>> noMatchByReason) {
-        int totalNoMatch = noMatchByReason.values().stream().mapToInt(List::size).sum();
+    private void logCharacterSummary(String charKey, List<String> postedServers, List<String> skippedServers, List<String> filteredServers, int notSubscribedCount) {
         log.info("[LFG_SUMMARY] ---------- Character: {} ----------", charKey);
         log.info("[LFG_SUMMARY]   POSTED (message sent): {} servers {}", postedServers.size(), postedServers.isEmpty() ? "" : "-> " + postedServers);
         log.info("[LFG_SUMMARY]   SKIPPED (already sent recently): {} servers {}", skippedServers.size(), skippedServers.isEmpty() ? "" : "-> " + skippedServers);
-        log.info("[LFG_SUMMARY]   NOT POSTED (no match): {} servers", totalNoMatch);
-        noMatchByReason.forEach((reason, servers) -> {
-            if (!servers.isEmpty()) {
-                log.info("[LFG_SUMMARY]     - {}: {}", reason, servers);
-            }
-        });
+        log.info("[LFG_SUMMARY]   NOT POSTED (no match): {} servers", notSubscribedCount + filteredServers.size());
+        log.info("[LFG_SUMMARY]     - NO_SUBSCRIPTION (language/realm/region): {} servers", notSubscribedCount);
+        if (!filteredServers.isEmpty()) {
+            log.info("[LFG_SUMMARY]     - NO_FILTER: {}", filteredServers);
+        }
     }
 
     /**
-     * Returns match outcome; if rejected, which step (language/realm/region/filter). No per-server log here, aggregated in summary.
+     * Recruitment filtresinin beklediği oyuncu bilgisi; karakter başına bir kez hazırlanır.
      */
-    private MatchOutcome characterMatchesSettings(CharacterInfoResponse character, UserSettings settings, String charKey) {
-        String settingsLanguageRaw = settings.getLanguage() != null ? settings.getLanguage() : "";
-        List<String> settingLanguages = Arrays.stream(settingsLanguageRaw.replaceAll("\\s+", "").toLowerCase().split(","))
-                .filter(s -> !s.isEmpty())
-                .toList();
-
-        String charLanguagesRaw = character.getLanguages() != null ? character.getLanguages().trim() : "";
-        List<String> characterLanguages = charLanguagesRaw.isEmpty()
-                ? List.of()
-                : Arrays.stream(charLanguagesRaw.replaceAll("\\s+", "").toLowerCase().split(","))
-                .filter(s -> !s.isEmpty())
-                .toList();
-
-        boolean languageMatch = !characterLanguages.isEmpty()
-                && settingLanguages.stream().anyMatch(characterLanguages::contains);
-        if (!languageMatch) return MatchOutcome.NO_LANGUAGE;
-
-        String charRealm = character.getRealm() != null ? character.getRealm().trim() : "";
-        String settingRealm = settings.getRealm() != null ? settings.getRealm().trim() : "";
-        boolean realmMatch = charRealm.equalsIgnoreCase(settingRealm) || "All Realms".equalsIgnoreCase(settingRealm);
-        if (!realmMatch) return MatchOutcome.NO_REALM;
-
-        String charRegion = character.getRegion() != null ? character.getRegion().trim() : "";
-        String settingRegion = settings.getRegion() != null ? settings.getRegion().trim() : "";
-        boolean regionMatch = charRegion.equalsIgnoreCase(settingRegion);
-        if (!regionMatch) return MatchOutcome.NO_REGION;
-
+    private static Map<String, String> buildPlayerInfo(CharacterInfoResponse character) {
         Map<String, String> playerInfo = new HashMap<>();
         playerInfo.put("name", character.getName());
-        playerInfo.put("realm", character.getRealm());
+        playerInfo.put("realm", character.getRealm() != null ? character.getRealm() : "");
         playerInfo.put("class", character.getRaiderIOData().getClassType());
         playerInfo.put("role", character.getRaiderIOData().getActiveSpecRole());
         playerInfo.put("ilevel", character.getILevel() != null ? character.getILevel() : "0");
@@ -201,115 +366,68 @@ public class DataFetcherService {
                 .map(RaidProgressionResponse::getSummary)
                 .orElse("0/8N");
         playerInfo.put("progress", progress);
-
-        boolean filterPass = filterService.shouldSendMessage(settings.getChannel().getServer().getServerId(), playerInfo);
-        if (!filterPass) return MatchOutcome.NO_FILTER;
-        return MatchOutcome.MATCH;
+        return playerInfo;
     }
 
-    private void sendFilteredMessage(CharacterInfoResponse character, UserSettings settings) {
+    private void sendFilteredMessage(CharacterMatch match, MatchedDelivery delivery) {
         try {
-            EmbedBuilder embedBuilder = getEmbedBuilder(character, settings);
-
-            Map<String, String> playerInfo = new HashMap<>();
-            playerInfo.put("name", character.getName());
-            playerInfo.put("realm", character.getRealm() != null ? character.getRealm() : "");
-            playerInfo.put("class", character.getRaiderIOData().getClassType());
-            playerInfo.put("role", character.getRaiderIOData().getActiveSpecRole());
-            playerInfo.put("ilevel", character.getILevel() != null ? character.getILevel() : "0");
-            String progress = character.getRaidProgressions().stream()
-                .findFirst()
-                    .map(raid -> raid.getSummary())
-                .orElse("0/8N");
-            playerInfo.put("progress", progress);
-
-            discordBotService.sendEmbedMessageToChannel(
+            UserSettings settings = delivery.subscription.getSettings();
+            deliveryQueue.enqueue(
+                settings.getChannel().getServer().getServerId(),
                 settings.getChannel().getChannelId(),
-                embedBuilder,
-                playerInfo
+                delivery.embed,
+                match.character.getName() + "|" + match.character.getRealm(),
+                match.dedupKey
             );
-
-            discordService.updateLastSentCharacters(settings.getChannel(), character.getName());
         } catch (Exception e) {
             log.error("[FILTER_ERROR] Error sending filtered message for character {}: {}",
-                character.getName(), e.getMessage(), e);
+                match.character.getName(), e.getMessage(), e);
         }
     }
 
     /**
-     * LFG match result: which step rejected or matched.
+     * Tek bir fetch döngüsünün durumu: lazy kurulan abonelik indeksi, görülen parmak izleri ve sayaçlar.
      */
-    private enum MatchOutcome {
-        MATCH,
-        NO_LANGUAGE,
-        NO_REALM,
-        NO_REGION,
-        NO_FILTER
-    }
-
-    private static @NotNull EmbedBuilder getEmbedBuilder(CharacterInfoResponse character, UserSettings settings) {
-        String raiderIOLink = "https://raider.io/characters/" + encodeURL(character.getRegion()) + "/" + encodeURL(character.getRealm().replace(' ', '-')) + "/" + encodeURL(character.getName());
-        String wowProgressLink = "https://www.wowprogress.com/character/" + encodeURL(character.getRegion()) + "/" + encodeURL(character.getRealm().replace(' ', '-')) + "/" + encodeURL(character.getName());
-        String warcraftLogsLink = "https://www.warcraftlogs.com/character/" + encodeURL(character.getRegion()) + "/" + encodeURL(character.getRealm().replace(' ', '-')) + "/" + encodeURL(character.getName());
-        String armoryLink = "https://worldofwarcraft.blizzard.com/en-gb/character/" + encodeURL(character.getRegion()) + "/" + encodeURL(character.getRealm().replace(' ', '-')) + "/" + encodeURL(character.getName());
-
-        String title = character.getRaiderIOData().getClassType() == null
-                ? character.getName() + " | " + character.getRealm()
-                : character.getName() + " | " + character.getRealm() + " | " + character.getRaiderIOData().getClassType() + " | " + character.getRaiderIOData().getActiveSpecRole() + " | " + character.getRaiderIOData().getActiveSpecName();
-
-        EmbedBuilder embedBuilder = new EmbedBuilder();
-        embedBuilder.setTitle(title, wowProgressLink);
-        embedBuilder.addField("Language", character.getLanguages(), true);
-        embedBuilder.addField("Item Level", StringUtils.hasText(character.getILevel()) ? character.getILevel() : "No Info", true);
-
-        if (settings.isFaction()) {
-            embedBuilder.addField("Faction", StringUtils.hasText(character.getRaiderIOData().getFaction()) ? character.getRaiderIOData().getFaction() : "No Info", true);
-        }
-
-        if (settings.isProgress()) {
-            StringBuilder progression = new StringBuilder();
-            for (var raidProgression : character.getRaidProgressions()) {
-                progression.append(raidProgression.getRaidName()).append("\n").append(raidProgression.getSummary()).append("\n\n");
-            }
-
-            if (progression.isEmpty()) {
-                progression.append("Use the links below to check the progression.");
-            }
-
-            embedBuilder.addField("Raid Progression", progression.toString(), false);
-        }
-
-        if (settings.isRanks() && character.getWarcraftLogsData().getBestPerformanceAverage() != 0) {
-            embedBuilder.addField("WarcraftLogs", "Overall Performance\n" + String.format("%.2f", character.getWarcraftLogsData().getBestPerformanceAverage()) + "\n----------\n" + prepareLogs(character.getBossRanks()), false);
+    private static final class FetchCycle {
+        private final HttpHeaders responseHeaders;
+        private final Map<String, String> seenFingerprints = new HashMap<>();
+        private final List<String> charactersWithZeroPosts = new ArrayList<>();
+        private final Deque<PendingMatch> pendingMatches = new ArrayDeque<>();
+        // Bu döngüde kuyruğa alınan kanal|karakter çiftleri
+        private final Set<String> enqueued = new HashSet<>();
+        private LfgSubscriptionIndex index;
+        private int newCharacters;
+        private int totalMessagesSent;
+        // Dizi kapanışına kadar okunduysa true; yarım okunan feed'in ETag'i ve parmak izleri saklanmaz
+        private boolean complete;
+
+        private FetchCycle(HttpHeaders responseHeaders) {
+            this.responseHeaders = responseHeaders;
         }
+    }
 
-        if (settings.isPlayerInfo()) {
-            embedBuilder.addField("Information About Player", character.getCommentary().length() > 1020
-                    ? character.getCommentary().substring(0, 1020) + "..."
-                    : character.getCommentary(), false);
+    /**
+     * Bir karakterin eşleştirme sonucu: gönderilecek embed'ler ve özet log'u için sunucu listeleri.
+     */
+    private static final class CharacterMatch {
+        private final CharacterInfoResponse character;
+        private final String charKey;
+        private final String dedupKey;
+        private final List<MatchedDelivery> deliveries = new ArrayList<>();
+        private final List<String> skippedServers = new ArrayList<>();
+        private final List<String> filteredServers = new ArrayList<>();
+        private int notSubscribedCount;
+
+        private CharacterMatch(CharacterInfoResponse character) {
+            this.character = character;
+            this.charKey = character.getName() + "|" + character.getRealm() + "|" + character.getRegion();
+            this.dedupKey = RecentlySentRegistry.keyOf(character);
         }
-
-        embedBuilder.addField("External Links",
-                "[Armory]" + "(" + armoryLink + ")" +
-                        " | [Raider IO]" + "(" + raiderIOLink + ")" +
-                        " | [WowProgress]" + "(" + wowProgressLink + ")" +
-                        " | [Warcraftlogs]" + "(" + warcraftLogsLink + ")"
-                , false);
-        embedBuilder.setFooter("Powered by Azerite!\nVisit -> https://azerite.app\nDonate -> https://www.patreon.com/Shadlynn/membership", "https://i.imgur.com/fK2PvPV.png");
-        embedBuilder.setThumbnail(character.getRaiderIOData().getThumbnailUrl());
-
-        embedBuilder.setColor(Color.decode(classColorCodeHelper.getClassColorCode(character.getRaiderIOData().getClassType())));
-        return embedBuilder;
     }
 
-    private static String encodeURL(String value) {
-        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    private record MatchedDelivery(LfgSubscriptionIndex.Subscription subscription, MessageEmbed embed) {
     }
 
-    private static String prepareLogs(List<BossRankResponse> responses) {
-        return responses.stream()
-                .map(response -> response.getEncounterName() + "\n" + String.format("%.2f", response.getRankPercent()))
-                .collect(Collectors.joining("\n"));
+    private record PendingMatch(String feedKey, Future<CharacterMatch> future) {
     }
-
 }
@@ -7,31 +7,36 @@ import followarcane.wow_lfg_discord_bot.application.response.StatisticsResponse;
 import followarcane.wow_lfg_discord_bot.application.util.ClassColorCodeHelper;
 import followarcane.wow_lfg_discord_bot.domain.FeatureType;
 import followarcane.wow_lfg_discord_bot.domain.model.DiscordServer;
-import followarcane.wow_lfg_discord_bot.domain.model.Message;
 import followarcane.wow_lfg_discord_bot.domain.model.ServerFeature;
 import followarcane.wow_lfg_discord_bot.domain.model.User;
 import followarcane.wow_lfg_discord_bot.domain.repository.DiscordServerRepository;
 import followarcane.wow_lfg_discord_bot.domain.repository.MessageRepository;
-import followarcane.wow_lfg_discord_bot.security.util.TokenValidationUtils;
+import followarcane.wow_lfg_discord_bot.infrastructure.properties.DiscordShardProperties;
+import followarcane.wow_lfg_discord_bot.security.service.DiscordTokenValidationService;
 import lombok.extern.slf4j.Slf4j;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.JDA;
-import net.dv8tion.jda.api.JDABuilder;
 import net.dv8tion.jda.api.Permission;
-import net.dv8tion.jda.api.entities.Activity;
+import net.dv8tion.jda.api.entities.MessageEmbed;
 import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
 import net.dv8tion.jda.api.events.ExceptionEvent;
 import net.dv8tion.jda.api.events.guild.GuildLeaveEvent;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.events.session.ReadyEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.interactions.InteractionHook;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.Commands;
-import net.dv8tion.jda.api.requests.GatewayIntent;
+import net.dv8tion.jda.api.sharding.ShardManager;
+import net.dv8tion.jda.api.utils.MiscUtil;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.http.*;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.RestTemplate;
@@ -39,18 +44,18 @@ import org.springframework.web.client.RestTemplate;
 import java.awt.*;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.StreamSupport;
 
 @Service
 @Slf4j
 public class DiscordBotService extends ListenerAdapter {
     private final MessageRepository messageRepository;
+    private final MessageAuditWriter messageAuditWriter;
     private final DiscordServerRepository discordServerRepository;
 
-    private JDA jda;
-
-    @Value("${discord.bot.token}")
-    private String token;
+    private final ShardManager shardManager;
 
     @Value("${discord.client.id}")
     private String clientId;
@@ -78,8 +83,15 @@ public class DiscordBotService extends ListenerAdapter {
 
     private final BisGearService bisGearService;
 
-    public DiscordBotService(MessageRepository messageRepository, DiscordServerRepository discordServerRepository, DiscordService discordService, RequestConverter requestConverter, RestTemplate restTemplate, RecruitmentFilterService filterService, ClassColorCodeHelper classColorCodeHelper, WowVaultService wowVaultService, CharacterStatsService characterStatsService, BisGearService bisGearService) {
+    private final DiscordTokenValidationService tokenValidationService;
+
+    private final DiscordCommandExecutor commandExecutor;
+
+    private final DiscordShardProperties shardProperties;
+
+    public DiscordBotService(MessageRepository messageRepository, MessageAuditWriter messageAuditWriter, DiscordServerRepository discordServerRepository, DiscordService discordService, RequestConverter requestConverter, RestTemplate restTemplate, RecruitmentFilterService filterService, ClassColorCodeHelper classColorCodeHelper, WowVaultService wowVaultService, CharacterStatsService characterStatsService, BisGearService bisGearService, DiscordTokenValidationService tokenValidationService, DiscordCommandExecutor commandExecutor, DiscordShardProperties shardProperties, ShardManager shardManager) {
         this.messageRepository = messageRepository;
+        this.messageAuditWriter = messageAuditWriter;
         this.discordServerRepository = discordServerRepository;
         this.discordService = discordService;
         this.requestConverter = requestConverter;
@@ -88,22 +100,23 @@ public class DiscordBotService extends ListenerAdapter {
         this.wowVaultService = wowVaultService;
         this.characterStatsService = characterStatsService;
         this.bisGearService = bisGearService;
+        this.tokenValidationService = tokenValidationService;
+        this.commandExecutor = commandExecutor;
+        this.shardProperties = shardProperties;
+        this.shardManager = shardManager;
     }
 
     @EventListener(ApplicationReadyEvent.class)
     public void startBot() {
         try {
-            log.info("[DISCORD_START] Starting Discord bot...");
-            if (token == null || token.isEmpty()) {
-                throw new RuntimeException("Discord bot token is not provided!");
-            }
-            jda = JDABuilder.createDefault(token)
-                    .addEventListeners(this)
-                    .setActivity(Activity.customStatus("https://azerite.app"))
-                    .enableIntents(GatewayIntent.GUILD_MEMBERS)
-                    .build();
+            log.info("[DISCORD_START] Registering Discord listeners...");
+            shardManager.addEventListener(this);
 
-            registerSlashCommands();
+            // Komutlar global; sadece shard 0'ı yöneten process günceller. Shard henüz hazır değilse onReady'de yapılır
+            JDA firstShard = shardManager.getShardById(0);
+            if (firstShard != null && firstShard.getStatus() == JDA.Status.CONNECTED) {
+                registerSlashCommands(firstShard);
+            }
             
             log.info("[DISCORD_SUCCESS] Discord bot started successfully.");
         } catch (Exception e) {
@@ -111,7 +124,14 @@ public class DiscordBotService extends ListenerAdapter {
         }
     }
 
-    private void registerSlashCommands() {
+    @Override
+    public void onReady(ReadyEvent event) {
+        if (event.getJDA().getShardInfo().getShardId() == 0) {
+            registerSlashCommands(event.getJDA());
+        }
+    }
+
+    private void registerSlashCommands(JDA jda) {
         // Mevcut komutları kontrol et ve güncelle
         jda.retrieveCommands().queue(existingCommands -> {
             log.info("Found {} existing commands", existingCommands.size());
@@ -218,49 +238,37 @@ public class DiscordBotService extends ListenerAdapter {
     }
 
     private void handleWeeklyRunsCommand(SlashCommandInteractionEvent event) {
-        // Defer reply to give us time to fetch data
-        event.deferReply().queue();
-
         String name = event.getOption("name").getAsString();
         String realm = event.getOption("realm").getAsString();
         String region = event.getOption("region").getAsString();
 
-        // WowVaultService'in createWeeklyRunsEmbed metodunu kullan
-        EmbedBuilder embed = wowVaultService.createWeeklyRunsEmbed(name, realm, region);
-
-        // Send the embed
-        event.getHook().sendMessageEmbeds(embed.build()).queue();
+        // Upstream çağrıları komut havuzunda yapılır, JDA thread'i beklemez
+        commandExecutor.submit(event, hook -> {
+            EmbedBuilder embed = wowVaultService.createWeeklyRunsEmbed(name, realm, region);
+            hook.sendMessageEmbeds(embed.build()).queue();
+        });
     }
 
     private void handleVaultCommand(SlashCommandInteractionEvent event) {
-        // Defer reply to give us time to fetch data
-        event.deferReply().queue();
-
         String name = event.getOption("name").getAsString();
         String realm = event.getOption("realm").getAsString().replace(" ", "-");
         String region = event.getOption("region").getAsString();
 
-        try {
-            // WowVaultService'i kullanarak vault embed'ini oluştur
+        commandExecutor.submit(event, hook -> {
             EmbedBuilder embed = wowVaultService.createVaultEmbed(name, realm, region);
-
-            // Embed'i gönder
-            event.getHook().sendMessageEmbeds(embed.build()).queue();
-        } catch (Exception e) {
-            log.error("Error handling vault command: {}", e.getMessage(), e);
-            event.getHook().sendMessage("Error fetching data. Please try again later.").queue();
-        }
+            hook.sendMessageEmbeds(embed.build()).queue();
+        });
     }
 
     private void handleCharacterStatsCommand(SlashCommandInteractionEvent event) {
-        event.deferReply().queue();
-
         String name = event.getOption("name").getAsString();
         String realm = event.getOption("realm").getAsString();
         String region = event.getOption("region").getAsString();
 
-        EmbedBuilder embed = characterStatsService.createCharacterStatsEmbed(name, realm, region);
-        event.getHook().sendMessageEmbeds(embed.build()).queue();
+        commandExecutor.submit(event, hook -> {
+            EmbedBuilder embed = characterStatsService.createCharacterStatsEmbed(name, realm, region);
+            hook.sendMessageEmbeds(embed.build()).queue();
+        });
     }
 
     private void handleBisGearCommand(SlashCommandInteractionEvent event) {
@@ -272,43 +280,28 @@ public class DiscordBotService extends ListenerAdapter {
         log.info("BIS Gear Command - Class: {}, Spec: {}, Hero Talent: {}, Slot: {}",
                 className, specName, heroTalent.isEmpty() ? "All" : heroTalent, slot.isEmpty() ? "All" : slot);
 
-        try {
-            // Hero talent belirtilmişse veya slot belirtilmişse
-            if (!heroTalent.isEmpty() || !slot.isEmpty()) {
-                List<EmbedBuilder> embeds = bisGearService.createBisGearEmbed(slot, className, specName, heroTalent);
-
-                if (embeds.isEmpty()) {
-                    event.reply("No BIS gear information found for " + className + " " + specName).queue();
-                    return;
-                }
-
-                // İlk embed'i göster
-                event.replyEmbeds(embeds.get(0).build()).queue();
-
-                // Eğer birden fazla embed varsa, diğerlerini takip mesajları olarak gönder
-                for (int i = 1; i < embeds.size(); i++) {
-                    event.getHook().sendMessageEmbeds(embeds.get(i).build()).queue();
-                }
-            } else {
-                // Hero talent belirtilmemişse ve slot belirtilmemişse, her hero talent için ayrı bir embed göster
-                List<EmbedBuilder> embeds = bisGearService.createBisGearEmbedsForAllHeroTalents(className, specName);
+        // Embed'ler bellekte hazır olduğu için cevap JDA thread'inde hook üzerinden gönderilir
+        event.deferReply().queue();
+        InteractionHook hook = event.getHook();
 
-                if (embeds.isEmpty()) {
-                    event.reply("No BIS gear information found for " + className + " " + specName).queue();
-                    return;
-                }
+        try {
+            // Hero talent veya slot belirtilmemişse her hero talent için ayrı bir embed gösterilir
+            List<MessageEmbed> embeds = !heroTalent.isEmpty() || !slot.isEmpty()
+                    ? bisGearService.createBisGearEmbed(slot, className, specName, heroTalent)
+                    : bisGearService.createBisGearEmbedsForAllHeroTalents(className, specName);
 
-                // İlk embed'i göster
-                event.replyEmbeds(embeds.get(0).build()).queue();
+            if (embeds.isEmpty()) {
+                hook.sendMessage("No BIS gear information found for " + className + " " + specName).queue();
+                return;
+            }
 
-                // Diğer embed'leri takip mesajları olarak gönder
-                for (int i = 1; i < embeds.size(); i++) {
-                    event.getHook().sendMessageEmbeds(embeds.get(i).build()).queue();
-                }
+            // İlk embed defer edilen cevabı doldurur, diğerleri takip mesajları olarak gönderilir
+            for (MessageEmbed embed : embeds) {
+                hook.sendMessageEmbeds(embed).queue();
             }
         } catch (Exception e) {
             log.error("Error processing BIS gear command: {}", e.getMessage(), e);
-            event.reply("An error occurred while processing your request. Please try again later.").setEphemeral(true).queue();
+            hook.sendMessage("An error occurred while processing your request. Please try again later.").queue();
         }
     }
 
@@ -364,48 +357,58 @@ public class DiscordBotService extends ListenerAdapter {
     }
 
     public List<TextChannel> getGuildChannelList(String guildId) {
-        return Objects.requireNonNull(jda.getGuildById(guildId)).getTextChannels();
+        JDA shard = shardFor(guildId);
+        if (shard == null) {
+            throw new IllegalStateException("Guild " + guildId + " is on a shard not managed by this process");
+        }
+        return Objects.requireNonNull(shard.getGuildById(guildId)).getTextChannels();
     }
 
-    public void sendEmbedMessageToChannel(String channelId, EmbedBuilder embed, Map<String, String> playerInfo) {
-        try {
-            TextChannel channel = jda.getTextChannelById(channelId);
-            if (channel == null) {
-                log.error("[DISCORD_ERROR] Channel not found: {}", channelId);
-                return;
-            }
-
-            if (!channel.canTalk()) {
-                log.error("[DISCORD_ERROR] Bot doesn't have permission...");
-                return;
-            }
-
-            String charLabel = (playerInfo.containsKey("name") && playerInfo.containsKey("realm"))
-                    ? playerInfo.get("name") + "|" + playerInfo.get("realm")
-                    : "unknown";
-            channel.sendMessageEmbeds(embed.build()).queue(
-                    success -> log.info("[DISCORD_SUCCESS] Character {} posted to ChannelID: {}, GuildID: {}",
-                            charLabel, channelId, channel.getGuild().getId()),
-                    error -> log.error("[DISCORD_ERROR] Character {} failed to send. ChannelID: {}, Error: {}",
-                            charLabel, channelId, error.getMessage())
-            );
-
-            Message message = new Message();
-            message.setMessageGuildId(channel.getGuild().getId());
-            message.setMessageChannelId(channelId);
-            message.setMessageContent(embed.build().getTitle());
-            message.setTimestamp(System.currentTimeMillis());
-
-            messageRepository.save(message);
+    /**
+     * Guild'in shard'ı: (guildId >> 22) % shardsTotal. Shard bu process'te değilse veya henüz başlamadıysa null.
+     */
+    private JDA shardFor(String guildId) {
+        int shardsTotal = shardManager.getShardsTotal();
+        return shardsTotal > 0 ? shardManager.getShardById(MiscUtil.getShardForGuild(guildId, shardsTotal)) : null;
+    }
 
-        } catch (Exception e) {
-            log.error("[DISCORD_ERROR] Error sending message", e);
+    /**
+     * Embed'i kanala gönderir; istek JDA'nın rate-limit kuyruğuna bırakılır ve sonuç future olarak döner.
+     * Başarılı gönderimde Message kaydı audit buffer'ına eklenir. Yazma izni yoksa future hata ile tamamlanır.
+     * Guild bu process'in shard aralığında değilse ya da kanal silinmişse future kalıcı hata ile tamamlanır.
+     * Shard henüz bağlanmadıysa veya guild erişilemiyorsa {@link GuildNotReadyException} ile tamamlanır; kuyruk guild hazır olana kadar bekler.
+     */
+    public CompletableFuture<Void> submitEmbed(String guildId, String channelId, MessageEmbed embed, long timeoutMs) {
+        if (!shardProperties.managesGuild(guildId)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Guild " + guildId + " is on a shard not managed by this process"));
+        }
+        JDA shard = shardFor(guildId);
+        if (shard == null || shard.getStatus() != JDA.Status.CONNECTED) {
+            return CompletableFuture.failedFuture(new GuildNotReadyException("Shard for guild " + guildId + " is not connected yet"));
+        }
+        if (shard.isUnavailable(Long.parseLong(guildId))) {
+            return CompletableFuture.failedFuture(new GuildNotReadyException("Guild " + guildId + " is not available yet"));
+        }
+        // Bağlı shard'ın cache'inde olmayan ve erişilemez de olmayan guild'de bot artık yok
+        if (shard.getGuildById(guildId) == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Bot is not a member of guild " + guildId));
         }
+        TextChannel channel = shard.getTextChannelById(channelId);
+        if (channel == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Channel not found: " + channelId));
+        }
+        if (!channel.canTalk()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Bot doesn't have permission to talk in channel: " + channelId));
+        }
+
+        return channel.sendMessageEmbeds(embed)
+                .timeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .submit()
+                .thenAccept(sent -> messageAuditWriter.record(guildId, channelId, embed.getTitle()));
     }
 
     public String exchangeCodeForToken(String code, boolean isCallback) {
         try {
-            RestTemplate restTemplate = new RestTemplate();
             String url = "https://discord.com/api/oauth2/token";
 
             HttpHeaders headers = new HttpHeaders();
@@ -438,7 +441,6 @@ public class DiscordBotService extends ListenerAdapter {
             JsonNode jsonNode = objectMapper.readTree(tokenResponse);
             String accessToken = jsonNode.get("access_token").asText();
 
-            RestTemplate restTemplate = new RestTemplate();
             HttpHeaders headers = new HttpHeaders();
             headers.setBearerAuth(accessToken);
 
@@ -572,8 +574,17 @@ public class DiscordBotService extends ListenerAdapter {
         return null;
     }
 
+    /**
+     * İsteğin kullanıcı ID'si. TokenAuthenticationFilter'ın doğruladığı principal varsa Discord'a tekrar gidilmez.
+     */
     public ResponseEntity<String> validateAndGetUserId(String token) {
-        String userId = TokenValidationUtils.validateAccessToken(token.substring(7), restTemplate);
+        String userId = null;
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetails userDetails) {
+            userId = userDetails.getUsername();
+        } else if (token != null && token.startsWith("Bearer ")) {
+            userId = tokenValidationService.validate(token.substring(7));
+        }
         if (userId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid token");
         }
@@ -585,8 +596,8 @@ public class DiscordBotService extends ListenerAdapter {
         StatisticsResponse statisticsResponse = new StatisticsResponse();
         statisticsResponse.setTotalServers(String.valueOf(discordServerRepository.count()));
 
-        Long lastMessageId = messageRepository.findMaxId();
-        statisticsResponse.setTotalMessages(lastMessageId != null ? String.valueOf(lastMessageId) : "0");
+        // MAX(id) havuzlu sequence yüzünden şişer; tam sayım da her çağrıda yapılmaz, audit writer'ın sayacı kullanılır
+        statisticsResponse.setTotalMessages(String.valueOf(messageAuditWriter.getStoredCount()));
 
         return statisticsResponse;
     }
@@ -622,4 +633,13 @@ public class DiscordBotService extends ListenerAdapter {
         embedBuilder.setColor(Color.white);
         return embedBuilder;
     }
+
+    /**
+     * Guild'in shard'ı veya kendisi henüz hazır değil; gönderim daha sonra tekrar denenebilir.
+     */
+    public static class GuildNotReadyException extends IllegalStateException {
+        public GuildNotReadyException(String message) {
+            super(message);
+        }
+    }
 }
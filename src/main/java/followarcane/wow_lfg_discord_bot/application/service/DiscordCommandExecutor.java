@@ -0,0 +1,81 @@
+package followarcane.wow_lfg_discord_bot.application.service;
+
+import followarcane.wow_lfg_discord_bot.infrastructure.properties.DiscordCommandProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Upstream'e giden slash komutlarını JDA event thread'inden ayırır.
+ * <p>
+ * Her komut tipinin kendi sınırlı thread havuzu ve kuyruğu vardır; yavaş bir upstream sadece kendi komutunu
+ * yavaşlatır, gateway event'leri ve diğer komutlar etkilenmez. Cevap JDA thread'inde hemen defer edilir,
+ * sonuç interaction hook üzerinden gönderilir.
+ */
+@Service
+@Slf4j
+public class DiscordCommandExecutor {
+
+    private final DiscordCommandProperties properties;
+    private final Map<String, ThreadPoolExecutor> executors = new ConcurrentHashMap<>();
+
+    public DiscordCommandExecutor(DiscordCommandProperties properties) {
+        this.properties = properties;
+    }
+
+    @PreDestroy
+    void stop() {
+        executors.values().forEach(ThreadPoolExecutor::shutdownNow);
+    }
+
+    /**
+     * Cevabı defer eder ve handler'ı komutun havuzunda çalıştırır. Kuyruk doluysa kullanıcıya meşgul mesajı gönderilir.
+     */
+    public void submit(SlashCommandInteractionEvent event, Consumer<InteractionHook> handler) {
+        String command = event.getName();
+        InteractionHook hook = event.getHook();
+        event.deferReply().queue();
+
+        try {
+            executor(command).execute(() -> {
+                try {
+                    handler.accept(hook);
+                } catch (Exception e) {
+                    log.error("[COMMAND_ERROR] Error handling /{} command: {}", command, e.getMessage(), e);
+                    hook.sendMessage("Error fetching data. Please try again later.").queue();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("[COMMAND_BUSY] /{} queue is full ({}), rejecting interaction", command, properties.getQueueCapacity());
+            hook.sendMessage("The bot is busy right now. Please try again in a moment.").queue();
+        }
+    }
+
+    private ThreadPoolExecutor executor(String command) {
+        return executors.computeIfAbsent(command, name -> {
+            int threads = properties.getMaxConcurrency().getOrDefault(name, properties.getDefaultMaxConcurrency());
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(properties.getQueueCapacity()), namedThreads("command-" + name),
+                    new ThreadPoolExecutor.AbortPolicy());
+            // Boşta kalan komut havuzları thread tutmaz
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        });
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
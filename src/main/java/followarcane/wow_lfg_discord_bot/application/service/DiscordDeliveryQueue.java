@@ -0,0 +1,320 @@
+package followarcane.wow_lfg_discord_bot.application.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * LFG embed'lerini arka planda Discord'a gönderen kuyruk.
+ * <p>
+ * Her kanal kendi FIFO kuyruğuna sahiptir ve bir kanalda aynı anda tek mesaj uçuşta olur; bir guild'de aynı anda
+ * uçuşta olabilecek mesaj sayısı sınırlıdır. Discord rate-limit header'ları (bucket, remaining, reset-after, 429)
+ * JDA'nın requester'ı tarafından takip edilir; kuyruk bunların önüne taşmayacak kadar istek verir.
+ * Geçici hatalar backoff ile tekrar denenir, kalıcı hatalar dead-letter listesine düşer.
+ */
+@Service
+@Slf4j
+public class DiscordDeliveryQueue {
+
+    private final DiscordBotService discordBotService;
+    private final RecentlySentRegistry recentlySent;
+
+    @Value("${discord.delivery.workers:4}")
+    private int workerCount;
+
+    @Value("${discord.delivery.max-pending:20000}")
+    private int maxPending;
+
+    @Value("${discord.delivery.max-in-flight-per-guild:2}")
+    private int maxInFlightPerGuild;
+
+    @Value("${discord.delivery.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${discord.delivery.initial-backoff-ms:2000}")
+    private long initialBackoffMs;
+
+    @Value("${discord.delivery.max-backoff-ms:60000}")
+    private long maxBackoffMs;
+
+    // Guild yüklenene kadar bekleme; bu süre deneme hakkından sayılmaz
+    @Value("${discord.delivery.guild-ready-retry-ms:5000}")
+    private long guildReadyRetryMs;
+
+    @Value("${discord.delivery.guild-ready-timeout-ms:900000}")
+    private long guildReadyTimeoutMs;
+
+    @Value("${discord.delivery.send-timeout-ms:120000}")
+    private long sendTimeoutMs;
+
+    @Value("${discord.delivery.dead-letter-size:500}")
+    private int deadLetterSize;
+
+    private final Object lock = new Object();
+    private final Map<String, ChannelLane> lanes = new HashMap<>();
+    private final Map<String, GuildBucket> guilds = new HashMap<>();
+    private final Deque<DeadLetter> deadLetters = new ArrayDeque<>();
+    private int pendingCount;
+
+    private final AtomicInteger delivered = new AtomicInteger();
+
+    private ExecutorService workers;
+    private ScheduledExecutorService retryScheduler;
+
+    public DiscordDeliveryQueue(DiscordBotService discordBotService, RecentlySentRegistry recentlySent) {
+        this.discordBotService = discordBotService;
+        this.recentlySent = recentlySent;
+    }
+
+    @PostConstruct
+    void start() {
+        workers = Executors.newFixedThreadPool(workerCount, namedThreads("discord-delivery"));
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(namedThreads("discord-delivery-retry"));
+        log.info("[DELIVERY_START] Discord delivery queue started with {} workers, {} in-flight per guild", workerCount, maxInFlightPerGuild);
+    }
+
+    @PreDestroy
+    void stop() {
+        retryScheduler.shutdownNow();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        log.info("[DELIVERY_STOP] Discord delivery queue stopped. Undelivered messages: {}", getPendingCount());
+    }
+
+    /**
+     * Embed'i kanalın kuyruğuna ekler ve hemen döner. Kuyruk doluysa mesaj dead-letter listesine yazılır.
+     * {@code dedupKey} verilmişse karakter, mesaj Discord'a ulaştığında kanal için gönderildi olarak işaretlenir.
+     *
+     * @return mesaj kuyruğa alındıysa true
+     */
+    public boolean enqueue(String guildId, String channelId, MessageEmbed embed, String label, String dedupKey) {
+        Delivery delivery = new Delivery(guildId, channelId, embed, label, dedupKey);
+        synchronized (lock) {
+            if (pendingCount >= maxPending) {
+                addDeadLetter(delivery, "queue full");
+                return false;
+            }
+            ChannelLane lane = lanes.computeIfAbsent(channelId, id -> new ChannelLane(guildId, id));
+            lane.pending.addLast(delivery);
+            pendingCount++;
+            tryStart(lane);
+        }
+        return true;
+    }
+
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pendingCount;
+        }
+    }
+
+    public int getDeliveredCount() {
+        return delivered.get();
+    }
+
+    public List<DeadLetter> getDeadLetters() {
+        synchronized (lock) {
+            return List.copyOf(deadLetters);
+        }
+    }
+
+    // lock altında çağrılır
+    private void tryStart(ChannelLane lane) {
+        if (lane.busy || lane.pending.isEmpty()) {
+            return;
+        }
+        GuildBucket guild = guilds.computeIfAbsent(lane.guildId, id -> new GuildBucket());
+        if (guild.inFlight >= maxInFlightPerGuild) {
+            if (!lane.waiting) {
+                lane.waiting = true;
+                guild.waitingLanes.addLast(lane);
+            }
+            return;
+        }
+        Delivery delivery = lane.pending.pollFirst();
+        pendingCount--;
+        lane.busy = true;
+        guild.inFlight++;
+        workers.execute(() -> deliver(lane, delivery));
+    }
+
+    // lock altında çağrılır: kanalın ve guild'in slotunu bırakıp sıradakileri başlatır
+    private void release(ChannelLane lane) {
+        lane.busy = false;
+        GuildBucket guild = guilds.get(lane.guildId);
+        if (guild != null) {
+            guild.inFlight--;
+            while (guild.inFlight < maxInFlightPerGuild && !guild.waitingLanes.isEmpty()) {
+                ChannelLane next = guild.waitingLanes.pollFirst();
+                next.waiting = false;
+                tryStart(next);
+            }
+        }
+        tryStart(lane);
+        if (!lane.busy && !lane.waiting && lane.pending.isEmpty()) {
+            lanes.remove(lane.channelId);
+            if (guild != null && guild.inFlight == 0 && guild.waitingLanes.isEmpty()) {
+                guilds.remove(lane.guildId);
+            }
+        }
+    }
+
+    private void deliver(ChannelLane lane, Delivery delivery) {
+        delivery.attempts++;
+        CompletableFuture<Void> sent;
+        try {
+            sent = discordBotService.submitEmbed(delivery.guildId, delivery.channelId, delivery.embed, sendTimeoutMs);
+        } catch (Throwable t) {
+            sent = CompletableFuture.failedFuture(t);
+        }
+        // JDA isteği rate-limit bucket'ı müsait olunca gönderir; worker beklemez, slotlar istek bitince bırakılır
+        sent.whenComplete((ignored, t) -> {
+            if (t == null) {
+                onDelivered(lane, delivery);
+            } else {
+                onFailed(lane, delivery, t);
+            }
+        });
+    }
+
+    private void onDelivered(ChannelLane lane, Delivery delivery) {
+        delivered.incrementAndGet();
+        // Dead-letter'a düşen mesajlar işaretlenmez; karakter bir sonraki fırsatta tekrar gönderilebilir
+        if (delivery.dedupKey != null) {
+            recentlySent.markSent(delivery.channelId, delivery.dedupKey);
+        }
+        log.info("[DISCORD_SUCCESS] Character {} posted to ChannelID: {}, GuildID: {}", delivery.label, delivery.channelId, delivery.guildId);
+        synchronized (lock) {
+            release(lane);
+        }
+    }
+
+    private void onFailed(ChannelLane lane, Delivery delivery, Throwable t) {
+        Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+        if (cause instanceof DiscordBotService.GuildNotReadyException) {
+            // Soğuk shard açılışında binlerce guild yüklenirken mesajlar dead-letter'a düşmesin diye ayrı, sabit aralıkla beklenir
+            delivery.attempts--;
+            long now = System.currentTimeMillis();
+            if (delivery.notReadySince == 0) {
+                delivery.notReadySince = now;
+            }
+            if (now - delivery.notReadySince < guildReadyTimeoutMs) {
+                log.debug("[DISCORD_WAIT] Character {} waiting for guild {} to become available. ChannelID: {}",
+                        delivery.label, delivery.guildId, delivery.channelId);
+                scheduleRetry(lane, delivery, guildReadyRetryMs);
+                return;
+            }
+        }
+        if (isRetryable(cause) && delivery.attempts < maxAttempts) {
+            long backoff = Math.min(maxBackoffMs, initialBackoffMs << (delivery.attempts - 1));
+            log.warn("[DISCORD_RETRY] Character {} failed to send (attempt {}/{}). ChannelID: {}, retrying in {} ms. Error: {}",
+                    delivery.label, delivery.attempts, maxAttempts, delivery.channelId, backoff, cause.getMessage());
+            scheduleRetry(lane, delivery, backoff);
+        } else {
+            log.error("[DISCORD_ERROR] Character {} failed to send. ChannelID: {}, Error: {}", delivery.label, delivery.channelId, cause.getMessage());
+            synchronized (lock) {
+                addDeadLetter(delivery, cause.getMessage());
+                release(lane);
+            }
+        }
+    }
+
+    private void scheduleRetry(ChannelLane lane, Delivery delivery, long backoffMs) {
+        // Kanal backoff boyunca meşgul kalır, böylece kanal içi sıra bozulmaz
+        try {
+            retryScheduler.schedule(() -> {
+                synchronized (lock) {
+                    lane.pending.addFirst(delivery);
+                    pendingCount++;
+                    release(lane);
+                }
+            }, backoffMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            synchronized (lock) {
+                addDeadLetter(delivery, "shutdown during retry");
+                release(lane);
+            }
+        }
+    }
+
+    private static boolean isRetryable(Throwable cause) {
+        if (cause instanceof ErrorResponseException errorResponse) {
+            return errorResponse.isServerError();
+        }
+        return cause instanceof TimeoutException || cause instanceof IOException;
+    }
+
+    // lock altında çağrılır
+    private void addDeadLetter(Delivery delivery, String reason) {
+        if (deadLetters.size() >= deadLetterSize) {
+            deadLetters.pollFirst();
+        }
+        deadLetters.addLast(new DeadLetter(delivery.guildId, delivery.channelId, delivery.label, reason,
+                delivery.attempts, System.currentTimeMillis()));
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public record DeadLetter(String guildId, String channelId, String label, String reason, int attempts, long timestamp) {
+    }
+
+    private static final class Delivery {
+        private final String guildId;
+        private final String channelId;
+        private final MessageEmbed embed;
+        private final String label;
+        private final String dedupKey;
+        private int attempts;
+        // Guild'in ilk kez hazır olmadığı an; 0 ise henüz beklenmedi
+        private long notReadySince;
+
+        private Delivery(String guildId, String channelId, MessageEmbed embed, String label, String dedupKey) {
+            this.guildId = guildId;
+            this.channelId = channelId;
+            this.embed = embed;
+            this.label = label;
+            this.dedupKey = dedupKey;
+        }
+    }
+
+    private static final class ChannelLane {
+        private final String guildId;
+        private final String channelId;
+        private final Deque<Delivery> pending = new ArrayDeque<>();
+        private boolean busy;
+        private boolean waiting;
+
+        private ChannelLane(String guildId, String channelId) {
+            this.guildId = guildId;
+            this.channelId = channelId;
+        }
+    }
+
+    private static final class GuildBucket {
+        private final Deque<ChannelLane> waitingLanes = new ArrayDeque<>();
+        private int inFlight;
+    }
+}
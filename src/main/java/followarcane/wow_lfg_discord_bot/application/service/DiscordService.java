@@ -8,11 +8,8 @@ import followarcane.wow_lfg_discord_bot.domain.repository.*;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
 
 @Service
@@ -173,22 +170,6 @@ public class DiscordService {
         return userSettingsRepository.findAll();
     }
 
-    @Transactional
-    public void updateLastSentCharacters(DiscordChannel channel, String characterName) {
-        DiscordChannel persistentChannel = discordChannelRepository.findById(channel.getId()).orElseThrow(() -> new RuntimeException("Channel not found"));
-
-        LinkedList<String> lastSentCharacters = new LinkedList<>(persistentChannel.getLastSentCharacters());
-        if (lastSentCharacters.contains(characterName)) {
-            lastSentCharacters.remove(characterName);
-        } else if (lastSentCharacters.size() >= 3) {
-            lastSentCharacters.removeFirst();
-        }
-        lastSentCharacters.addLast(characterName);
-
-        persistentChannel.setLastSentCharacters(new ArrayList<>(lastSentCharacters));
-        discordChannelRepository.save(persistentChannel);
-    }
-
     public User getUserByDiscordId(String discordId) {
         return userRepository.findUserByDiscordId(discordId);
     }
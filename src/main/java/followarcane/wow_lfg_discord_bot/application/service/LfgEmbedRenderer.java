@@ -0,0 +1,173 @@
+package followarcane.wow_lfg_discord_bot.application.service;
+
+import followarcane.wow_lfg_discord_bot.application.response.BossRankResponse;
+import followarcane.wow_lfg_discord_bot.application.response.CharacterInfoResponse;
+import followarcane.wow_lfg_discord_bot.application.util.ClassColorCodeHelper;
+import followarcane.wow_lfg_discord_bot.domain.model.UserSettings;
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.awt.*;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+/**
+ * LFG embed'lerini üretir. Embed sadece UserSettings'in faction/progress/ranks/playerInfo bayraklarına göre
+ * değiştiği için karakter başına en fazla 16 varyant render edilir; aynı MessageEmbed tüm guild'lerle paylaşılır.
+ */
+@Component
+public class LfgEmbedRenderer {
+
+    private static final int VARIANT_COUNT = 16;
+    private static final int FACTION = 1;
+    private static final int PROGRESS = 1 << 1;
+    private static final int RANKS = 1 << 2;
+    private static final int PLAYER_INFO = 1 << 3;
+
+    private final ClassColorCodeHelper classColorCodeHelper;
+
+    public LfgEmbedRenderer(ClassColorCodeHelper classColorCodeHelper) {
+        this.classColorCodeHelper = classColorCodeHelper;
+    }
+
+    /**
+     * Karakter için varyant önbelleği oluşturur; ortak parçalar (linkler, başlık, renk) burada bir kez hesaplanır.
+     */
+    public CharacterEmbeds forCharacter(CharacterInfoResponse character) {
+        return new CharacterEmbeds(character);
+    }
+
+    static int variantOf(UserSettings settings) {
+        return (settings.isFaction() ? FACTION : 0)
+                | (settings.isProgress() ? PROGRESS : 0)
+                | (settings.isRanks() ? RANKS : 0)
+                | (settings.isPlayerInfo() ? PLAYER_INFO : 0);
+    }
+
+    private static String encodeURL(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String prepareLogs(List<BossRankResponse> responses) {
+        return responses.stream()
+                .map(response -> response.getEncounterName() + "\n" + String.format("%.2f", response.getRankPercent()))
+                .collect(Collectors.joining("\n"));
+    }
+
+    public final class CharacterEmbeds {
+        private final CharacterInfoResponse character;
+        private final AtomicReferenceArray<MessageEmbed> variants = new AtomicReferenceArray<>(VARIANT_COUNT);
+
+        private final String title;
+        private final String wowProgressLink;
+        private final String externalLinks;
+        private final Color color;
+
+        // Sadece ilgili bayrağı açık bir guild varsa hesaplanır
+        private String progression;
+        private String ranks;
+        private String playerInfo;
+
+        private CharacterEmbeds(CharacterInfoResponse character) {
+            this.character = character;
+
+            String path = encodeURL(character.getRegion()) + "/" + encodeURL(character.getRealm().replace(' ', '-')) + "/" + encodeURL(character.getName());
+            String raiderIOLink = "https://raider.io/characters/" + path;
+            String warcraftLogsLink = "https://www.warcraftlogs.com/character/" + path;
+            String armoryLink = "https://worldofwarcraft.blizzard.com/en-gb/character/" + path;
+            this.wowProgressLink = "https://www.wowprogress.com/character/" + path;
+
+            this.title = character.getRaiderIOData().getClassType() == null
+                    ? character.getName() + " | " + character.getRealm()
+                    : character.getName() + " | " + character.getRealm() + " | " + character.getRaiderIOData().getClassType() + " | " + character.getRaiderIOData().getActiveSpecRole() + " | " + character.getRaiderIOData().getActiveSpecName();
+
+            this.externalLinks = "[Armory]" + "(" + armoryLink + ")" +
+                    " | [Raider IO]" + "(" + raiderIOLink + ")" +
+                    " | [WowProgress]" + "(" + wowProgressLink + ")" +
+                    " | [Warcraftlogs]" + "(" + warcraftLogsLink + ")";
+            this.color = Color.decode(classColorCodeHelper.getClassColorCode(character.getRaiderIOData().getClassType()));
+        }
+
+        public MessageEmbed render(UserSettings settings) {
+            int variant = variantOf(settings);
+            MessageEmbed embed = variants.get(variant);
+            if (embed == null) {
+                embed = build(variant);
+                // Aynı anda iki thread render ettiyse ilk yazılan kullanılır
+                if (!variants.compareAndSet(variant, null, embed)) {
+                    embed = variants.get(variant);
+                }
+            }
+            return embed;
+        }
+
+        private synchronized MessageEmbed build(int variant) {
+            EmbedBuilder embedBuilder = new EmbedBuilder();
+            embedBuilder.setTitle(title, wowProgressLink);
+            embedBuilder.addField("Language", character.getLanguages(), true);
+            embedBuilder.addField("Item Level", StringUtils.hasText(character.getILevel()) ? character.getILevel() : "No Info", true);
+
+            if ((variant & FACTION) != 0) {
+                embedBuilder.addField("Faction", StringUtils.hasText(character.getRaiderIOData().getFaction()) ? character.getRaiderIOData().getFaction() : "No Info", true);
+            }
+
+            if ((variant & PROGRESS) != 0) {
+                embedBuilder.addField("Raid Progression", progression(), false);
+            }
+
+            if ((variant & RANKS) != 0) {
+                Double bestPerformanceAverage = character.getWarcraftLogsData().getBestPerformanceAverage();
+                if (bestPerformanceAverage != null && bestPerformanceAverage != 0) {
+                    embedBuilder.addField("WarcraftLogs", ranks(bestPerformanceAverage), false);
+                }
+            }
+
+            if ((variant & PLAYER_INFO) != 0) {
+                embedBuilder.addField("Information About Player", playerInfo(), false);
+            }
+
+            embedBuilder.addField("External Links", externalLinks, false);
+            embedBuilder.setFooter("Powered by Azerite!\nVisit -> https://azerite.app\nDonate -> https://www.patreon.com/Shadlynn/membership", "https://i.imgur.com/fK2PvPV.png");
+            embedBuilder.setThumbnail(character.getRaiderIOData().getThumbnailUrl());
+
+            embedBuilder.setColor(color);
+            return embedBuilder.build();
+        }
+
+        private String progression() {
+            if (progression == null) {
+                StringBuilder builder = new StringBuilder();
+                for (var raidProgression : character.getRaidProgressions()) {
+                    builder.append(raidProgression.getRaidName()).append("\n").append(raidProgression.getSummary()).append("\n\n");
+                }
+
+                if (builder.isEmpty()) {
+                    builder.append("Use the links below to check the progression.");
+                }
+                progression = builder.toString();
+            }
+            return progression;
+        }
+
+        private String ranks(double bestPerformanceAverage) {
+            if (ranks == null) {
+                ranks = "Overall Performance\n" + String.format("%.2f", bestPerformanceAverage) + "\n----------\n" + prepareLogs(character.getBossRanks());
+            }
+            return ranks;
+        }
+
+        private String playerInfo() {
+            if (playerInfo == null) {
+                playerInfo = character.getCommentary().length() > 1020
+                        ? character.getCommentary().substring(0, 1020) + "..."
+                        : character.getCommentary();
+            }
+            return playerInfo;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package followarcane.wow_lfg_discord_bot.application.service;
+
+import followarcane.wow_lfg_discord_bot.application.response.CharacterInfoResponse;
+import followarcane.wow_lfg_discord_bot.domain.model.UserSettings;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * LFG abonelik indeksi: (region, realm veya "All Realms", language) -> o anahtara abone guild'ler.
+ * Her fetch döngüsünde UserSettings kayıtlarından bir kez kurulur; karakter başına
+ * sadece aday guild'lere dokunulur, tüm guild tablosu taranmaz.
+ */
+public final class LfgSubscriptionIndex {
+
+    static final String ALL_REALMS = "all realms";
+    private static final String ANY_REALM_KEY = "*";
+
+    private final Map<String, List<Subscription>> byKey;
+    private final List<Subscription> subscriptions;
+
+    private LfgSubscriptionIndex(Map<String, List<Subscription>> byKey, List<Subscription> subscriptions) {
+        this.byKey = byKey;
+        this.subscriptions = subscriptions;
+    }
+
+    /**
+     * Aktif sunucuların ayarlarından indeksi kurar. Aynı sunucu için birden fazla ayar varsa ilki kullanılır.
+     */
+    public static LfgSubscriptionIndex build(List<UserSettings> allSettings) {
+        Map<String, Subscription> byServer = new LinkedHashMap<>();
+        for (UserSettings settings : allSettings) {
+            if (!settings.getChannel().getServer().isActive()) {
+                continue;
+            }
+            String serverId = settings.getChannel().getServer().getServerId();
+            if (!byServer.containsKey(serverId)) {
+                byServer.put(serverId, new Subscription(settings, serverId,
+                        settings.getChannel().getServer().getServerName()));
+            }
+        }
+
+        Map<String, List<Subscription>> byKey = new HashMap<>();
+        for (Subscription subscription : byServer.values()) {
+            UserSettings settings = subscription.getSettings();
+            String region = normalize(settings.getRegion());
+            String realm = normalize(settings.getRealm());
+            String realmKey = ALL_REALMS.equals(realm) ? ANY_REALM_KEY : realm;
+
+            for (String language : splitLanguages(settings.getLanguage())) {
+                byKey.computeIfAbsent(key(region, realmKey, language), k -> new ArrayList<>()).add(subscription);
+            }
+        }
+
+        return new LfgSubscriptionIndex(byKey, List.copyOf(byServer.values()));
+    }
+
+    /**
+     * Karakterin dil/realm/region bilgisine göre filtre kontrolüne girecek aday guild'leri döndürür.
+     */
+    public Collection<Subscription> candidatesFor(CharacterInfoResponse character) {
+        List<String> languages = splitLanguages(character.getLanguages());
+        if (languages.isEmpty()) {
+            return List.of();
+        }
+
+        String region = normalize(character.getRegion());
+        String realm = normalize(character.getRealm());
+
+        List<Subscription> first = null;
+        Set<Subscription> merged = null;
+        for (String language : languages) {
+            for (String realmKey : new String[]{realm, ANY_REALM_KEY}) {
+                List<Subscription> hit = byKey.get(key(region, realmKey, language));
+                if (hit == null) {
+                    continue;
+                }
+                if (first == null) {
+                    first = hit;
+                } else {
+                    // Birden fazla anahtar eşleşti: aynı guild iki kez gelmesin
+                    if (merged == null) {
+                        merged = Collections.newSetFromMap(new IdentityHashMap<>());
+                        merged.addAll(first);
+                    }
+                    merged.addAll(hit);
+                }
+            }
+        }
+
+        if (merged != null) {
+            return merged;
+        }
+        return first != null ? first : List.of();
+    }
+
+    public List<Subscription> getSubscriptions() {
+        return subscriptions;
+    }
+
+    public List<String> getServerIds() {
+        return subscriptions.stream().map(Subscription::getServerId).toList();
+    }
+
+    public int size() {
+        return subscriptions.size();
+    }
+
+    private static String key(String region, String realmKey, String language) {
+        return region + '|' + realmKey + '|' + language;
+    }
+
+    private static String normalize(String value) {
+        return value != null ? value.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    static List<String> splitLanguages(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return List.of();
+        }
+        List<String> languages = new ArrayList<>(4);
+        for (String part : raw.split(",")) {
+            String language = part.replaceAll("\\s+", "").toLowerCase(Locale.ROOT);
+            if (!language.isEmpty()) {
+                languages.add(language);
+            }
+        }
+        return languages;
+    }
+
+    /**
+     * Bir guild'in LFG aboneliği.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Subscription {
+        private final UserSettings settings;
+        private final String serverId;
+        private final String serverName;
+    }
+}
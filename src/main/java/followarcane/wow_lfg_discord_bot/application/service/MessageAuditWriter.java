@@ -0,0 +1,153 @@
+package followarcane.wow_lfg_discord_bot.application.service;
+
+import followarcane.wow_lfg_discord_bot.domain.model.Message;
+import followarcane.wow_lfg_discord_bot.domain.repository.MessageRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gönderilen mesajların audit kayıtlarını bellekte biriktirip JDBC batch'leri halinde yazar.
+ * Buffer batch boyutuna ulaştığında veya flush aralığı dolduğunda yazılır; kapanışta kalanlar flush edilir.
+ */
+@Service
+@Slf4j
+public class MessageAuditWriter {
+
+    private final MessageRepository messageRepository;
+
+    @Value("${discord.audit.batch-size:50}")
+    private int batchSize;
+
+    @Value("${discord.audit.max-buffer:10000}")
+    private int maxBuffer;
+
+    // Diğer shard process'lerinin yazdıkları da bu aralıkla tam sayımdan gelir
+    @Value("${discord.audit.count-refresh-ms:600000}")
+    private long countRefreshMs;
+
+    private final Deque<Message> buffer = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    // Son yazma başarısızsa erken flush tetiklenmez; tekrar deneme zamanlanmış flush'a kalır
+    private volatile boolean lastFlushFailed;
+
+    // Tablodaki kayıt sayısı: ara sıra count() ile tazelenir, arada bu process'in flush'larıyla artırılır; -1 ise henüz yüklenmedi
+    private final AtomicLong storedCount = new AtomicLong(-1);
+    private volatile long storedCountLoadedAt;
+
+    private ExecutorService flushExecutor;
+
+    public MessageAuditWriter(MessageRepository messageRepository) {
+        this.messageRepository = messageRepository;
+    }
+
+    @PostConstruct
+    void start() {
+        flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "message-audit-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        flushExecutor.shutdown();
+        flush();
+    }
+
+    /**
+     * Başarılı bir gönderimi kaydeder. JDA callback thread'inden çağrılır, DB'ye gitmez.
+     */
+    public void record(String guildId, String channelId, String content) {
+        if (buffered.get() >= maxBuffer) {
+            log.warn("[AUDIT_DROPPED] Message audit buffer is full ({}), dropping record for channel {}", maxBuffer, channelId);
+            return;
+        }
+
+        Message message = new Message();
+        message.setMessageGuildId(guildId);
+        message.setMessageChannelId(channelId);
+        message.setMessageContent(content);
+        message.setTimestamp(System.currentTimeMillis());
+
+        buffer.add(message);
+        if (buffered.incrementAndGet() >= batchSize && !lastFlushFailed && flushScheduled.compareAndSet(false, true)) {
+            try {
+                flushExecutor.execute(() -> {
+                    flushScheduled.set(false);
+                    flush();
+                });
+            } catch (RejectedExecutionException e) {
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${discord.audit.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        while (!buffer.isEmpty()) {
+            List<Message> batch = new ArrayList<>(batchSize);
+            Message message;
+            while (batch.size() < batchSize && (message = buffer.poll()) != null) {
+                batch.add(message);
+            }
+            buffered.addAndGet(-batch.size());
+
+            try {
+                messageRepository.saveAll(batch);
+                storedCount.getAndUpdate(count -> count < 0 ? count : count + batch.size());
+            } catch (Exception e) {
+                log.error("[AUDIT_ERROR] Error writing {} message records, will retry on next flush", batch.size(), e);
+                requeue(batch);
+                lastFlushFailed = true;
+                return;
+            }
+        }
+        lastFlushFailed = false;
+    }
+
+    /**
+     * İstatistikler için kayıtlı mesaj sayısı; her çağrıda tabloyu saymaz.
+     */
+    public long getStoredCount() {
+        if (storedCount.get() < 0 || System.currentTimeMillis() - storedCountLoadedAt >= countRefreshMs) {
+            synchronized (storedCount) {
+                long now = System.currentTimeMillis();
+                if (storedCount.get() < 0 || now - storedCountLoadedAt >= countRefreshMs) {
+                    storedCount.set(messageRepository.count());
+                    storedCountLoadedAt = now;
+                }
+            }
+        }
+        return storedCount.get();
+    }
+
+    // Yazılamayan batch sırası bozulmadan buffer'ın başına döner; buffer doluysa en eski kayıtlar düşürülür
+    private void requeue(List<Message> batch) {
+        int room = Math.max(0, maxBuffer - buffered.get());
+        int dropped = Math.max(0, batch.size() - room);
+        if (dropped > 0) {
+            log.warn("[AUDIT_DROPPED] Message audit buffer is full ({}), dropping {} unsaved records", maxBuffer, dropped);
+        }
+        for (int i = batch.size() - 1; i >= dropped; i--) {
+            buffer.addFirst(batch.get(i));
+        }
+        buffered.addAndGet(batch.size() - dropped);
+    }
+}
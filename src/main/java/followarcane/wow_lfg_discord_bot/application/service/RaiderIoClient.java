@@ -0,0 +1,170 @@
+package followarcane.wow_lfg_discord_bot.application.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import followarcane.wow_lfg_discord_bot.infrastructure.properties.RaiderIoProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Raider.io karakter profili istemcisi.
+ * <p>
+ * Yanıtlar (region, realm, name, fields) anahtarıyla, istenen alanlara göre ayarlanan TTL kadar bellekte tutulur.
+ * Aynı profil için eş zamanlı istekler tek bir upstream çağrısında birleşir. Dönen JsonNode paylaşılır, değiştirilmemelidir.
+ */
+@Service
+@Slf4j
+public class RaiderIoClient {
+
+    /**
+     * /vault, /weekly-runs ve /char-stats komutlarının ihtiyaç duyduğu alanların birleşimi.
+     */
+    public static final String CHARACTER_PROFILE_FIELDS = "mythic_plus_scores_by_season:current,mythic_plus_weekly_highest_level_runs,gear";
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final RaiderIoProperties properties;
+
+    private final Map<ProfileKey, CachedProfile> cache = new ConcurrentHashMap<>();
+    private final Map<ProfileKey, CompletableFuture<JsonNode>> inFlight = new ConcurrentHashMap<>();
+
+    public RaiderIoClient(RestTemplate restTemplate, ObjectMapper objectMapper, RaiderIoProperties properties) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * Tüm karakter komutlarının paylaştığı profil; aynı karakter için komutlar tek bir Raider.io çağrısıyla karşılanır.
+     */
+    public JsonNode fetchCharacterProfile(String name, String realm, String region) {
+        return fetchProfile(name, realm, region, CHARACTER_PROFILE_FIELDS);
+    }
+
+    /**
+     * {@link #fetchCharacterProfile} çağrısını arka planda başlatır; süre aşımında veya hatada null ile tamamlanır.
+     */
+    public CompletableFuture<JsonNode> fetchCharacterProfileAsync(String name, String realm, String region) {
+        return UpstreamCalls.supplyAsync("Raider.io profile " + name + "-" + realm + "-" + region, properties.getTimeoutMs(),
+                () -> fetchCharacterProfile(name, realm, region));
+    }
+
+    /**
+     * Raider.io karakteri yakın zamanda 404/400 ile reddettiyse true. Null profil dönen bir çağrının
+     * "karakter yok" mu yoksa süre aşımı/hata mı olduğunu ayırt etmek için kullanılır.
+     */
+    public boolean isKnownNotFound(String name, String realm, String region) {
+        CachedProfile cached = cache.get(ProfileKey.of(name, realm, region, CHARACTER_PROFILE_FIELDS));
+        return cached != null && cached.profile == null && cached.expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Karakter profilini istenen alanlarla döner; karakter bulunamadıysa veya istek başarısızsa null.
+     */
+    public JsonNode fetchProfile(String name, String realm, String region, String fields) {
+        ProfileKey key = ProfileKey.of(name, realm, region, fields);
+        long now = System.currentTimeMillis();
+
+        CachedProfile cached = cache.get(key);
+        if (cached != null && cached.expiresAt > now) {
+            log.debug("[RAIDER_IO] Cache hit for {}", key);
+            return cached.profile;
+        }
+
+        CompletableFuture<JsonNode> created = new CompletableFuture<>();
+        CompletableFuture<JsonNode> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing.join();
+        }
+
+        try {
+            // Önceki istek tam bu arada bitmiş olabilir
+            CachedProfile fresh = cache.get(key);
+            JsonNode profile = fresh != null && fresh.expiresAt > now ? fresh.profile : load(key, name, realm, region);
+            created.complete(profile);
+            return profile;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    private JsonNode load(ProfileKey key, String name, String realm, String region) {
+        String url = UriComponentsBuilder.fromHttpUrl(properties.getUrl() + "/characters/profile")
+                .queryParam("region", region)
+                .queryParam("realm", realm)
+                .queryParam("name", name)
+                .queryParam("fields", key.fields)
+                .build()
+                .toUriString();
+
+        try {
+            log.info("Fetching Raider.io data from: {}", url);
+            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+
+            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                JsonNode profile = objectMapper.readTree(response.getBody());
+                put(key, profile, ttlOf(key.fields));
+                return profile;
+            }
+        } catch (HttpClientErrorException.NotFound | HttpClientErrorException.BadRequest e) {
+            // Raider.io olmayan karakter için 400 de dönebiliyor; kısa süre hatırlanır
+            put(key, null, properties.getCache().getNotFoundTtlMs());
+        } catch (Exception e) {
+            log.error("Error fetching Raider.io data: {}", e.getMessage(), e);
+        }
+        return null;
+    }
+
+    private long ttlOf(String fields) {
+        RaiderIoProperties.Cache cacheProperties = properties.getCache();
+        long ttl = cacheProperties.getDefaultTtlMs();
+        for (String field : fields.split(",")) {
+            int modifier = field.indexOf(':');
+            Long fieldTtl = cacheProperties.getFieldTtlMs().get(modifier < 0 ? field : field.substring(0, modifier));
+            if (fieldTtl != null) {
+                ttl = Math.min(ttl, fieldTtl);
+            }
+        }
+        return ttl;
+    }
+
+    private void put(ProfileKey key, JsonNode profile, long ttl) {
+        if (cache.size() >= properties.getCache().getMaxSize()) {
+            evict();
+        }
+        cache.put(key, new CachedProfile(profile, System.currentTimeMillis() + ttl));
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(cached -> cached.expiresAt <= now);
+
+        Iterator<ProfileKey> keys = cache.keySet().iterator();
+        while (cache.size() >= properties.getCache().getMaxSize() && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record ProfileKey(String region, String realm, String name, String fields) {
+        static ProfileKey of(String name, String realm, String region, String fields) {
+            return new ProfileKey(region.toLowerCase(Locale.ROOT), realm.toLowerCase(Locale.ROOT), name.toLowerCase(Locale.ROOT), fields);
+        }
+    }
+
+    private record CachedProfile(JsonNode profile, long expiresAt) {
+    }
+}
@@ -0,0 +1,154 @@
+package followarcane.wow_lfg_discord_bot.application.service;
+
+import followarcane.wow_lfg_discord_bot.application.response.CharacterInfoResponse;
+import followarcane.wow_lfg_discord_bot.domain.model.SentCharacter;
+import followarcane.wow_lfg_discord_bot.domain.repository.SentCharacterRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Kanal başına son gönderilen karakterleri tutan dedup kaydı.
+ * <p>
+ * Her kanal için en fazla {@code lfg.dedup.max-per-channel} karakter, {@code lfg.dedup.window-ms} süresince hatırlanır.
+ * Kontrol tamamen bellekte yapılır; gönderimler kuyrukta birleştirilip periyodik olarak toplu yazılır ve
+ * uygulama açılışında pencere içindeki kayıtlar geri yüklenir.
+ */
+@Service
+@Slf4j
+public class RecentlySentRegistry {
+
+    private final SentCharacterRepository sentCharacterRepository;
+
+    @Value("${lfg.dedup.max-per-channel:20}")
+    private int maxPerChannel;
+
+    @Value("${lfg.dedup.window-ms:43200000}")
+    private long windowMs;
+
+    private final Map<String, ChannelRing> rings = new ConcurrentHashMap<>();
+    private final Queue<SentCharacter> pendingWrites = new ConcurrentLinkedQueue<>();
+
+    public RecentlySentRegistry(SentCharacterRepository sentCharacterRepository) {
+        this.sentCharacterRepository = sentCharacterRepository;
+    }
+
+    @PostConstruct
+    void load() {
+        try {
+            List<SentCharacter> recent = sentCharacterRepository.findBySentAtGreaterThanEqualOrderBySentAtAsc(System.currentTimeMillis() - windowMs);
+            for (SentCharacter sent : recent) {
+                ring(sent.getChannelId()).add(sent.getCharacterKey(), sent.getSentAt());
+            }
+            log.info("[LFG_DEDUP] Loaded {} recently sent characters for {} channels", recent.size(), rings.size());
+        } catch (Exception e) {
+            log.error("[LFG_DEDUP] Error loading recently sent characters", e);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        flush();
+    }
+
+    /**
+     * Karakterin bu kanala pencere içinde gönderilip gönderilmediği.
+     */
+    public boolean wasSentRecently(String channelId, String characterKey) {
+        ChannelRing ring = rings.get(channelId);
+        return ring != null && ring.contains(characterKey, System.currentTimeMillis() - windowMs);
+    }
+
+    /**
+     * Gönderimi bellekte işaretler; DB'ye bir sonraki flush'ta yazılır.
+     */
+    public void markSent(String channelId, String characterKey) {
+        long now = System.currentTimeMillis();
+        ring(channelId).add(characterKey, now);
+
+        SentCharacter sent = new SentCharacter();
+        sent.setChannelId(channelId);
+        sent.setCharacterKey(characterKey);
+        sent.setSentAt(now);
+        pendingWrites.add(sent);
+    }
+
+    public static String keyOf(CharacterInfoResponse character) {
+        return normalize(character.getName()) + '|' + normalize(character.getRealm()) + '|' + normalize(character.getRegion());
+    }
+
+    @Scheduled(fixedDelayString = "${lfg.dedup.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        if (pendingWrites.isEmpty()) {
+            return;
+        }
+
+        // Aynı kanal/karakter için sadece son gönderim yazılır
+        Map<String, SentCharacter> coalesced = new LinkedHashMap<>();
+        SentCharacter sent;
+        while ((sent = pendingWrites.poll()) != null) {
+            coalesced.put(sent.getChannelId() + '|' + sent.getCharacterKey(), sent);
+        }
+
+        try {
+            sentCharacterRepository.saveAll(coalesced.values());
+        } catch (Exception e) {
+            log.error("[LFG_DEDUP] Error writing {} sent character records", coalesced.size(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${lfg.dedup.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        try {
+            int deleted = sentCharacterRepository.deleteOlderThan(System.currentTimeMillis() - windowMs);
+            if (deleted > 0) {
+                log.info("[LFG_DEDUP] Purged {} expired sent character records", deleted);
+            }
+        } catch (Exception e) {
+            log.error("[LFG_DEDUP] Error purging expired sent character records", e);
+        }
+    }
+
+    private ChannelRing ring(String channelId) {
+        return rings.computeIfAbsent(channelId, id -> new ChannelRing(maxPerChannel));
+    }
+
+    private static String normalize(String value) {
+        return value != null ? value.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * Kanal başına sabit boyutlu, ekleme sırasına göre en eskiyi atan karakter listesi.
+     */
+    private static final class ChannelRing {
+        private final int capacity;
+        private final LinkedHashMap<String, Long> sentAt = new LinkedHashMap<>();
+
+        private ChannelRing(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized boolean contains(String characterKey, long notBefore) {
+            Long timestamp = sentAt.get(characterKey);
+            return timestamp != null && timestamp >= notBefore;
+        }
+
+        synchronized void add(String characterKey, long timestamp) {
+            // Tekrar gönderilen karakter listenin sonuna taşınır
+            sentAt.remove(characterKey);
+            sentAt.put(characterKey, timestamp);
+            Iterator<String> eldest = sentAt.keySet().iterator();
+            while (sentAt.size() > capacity && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+}
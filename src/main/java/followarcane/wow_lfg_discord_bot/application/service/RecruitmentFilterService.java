@@ -1,5 +1,7 @@
 package followarcane.wow_lfg_discord_bot.application.service;
 
+import followarcane.wow_lfg_discord_bot.application.model.CompiledRecruitmentFilter;
+import followarcane.wow_lfg_discord_bot.application.model.RecruitmentProfile;
 import followarcane.wow_lfg_discord_bot.application.request.RecruitmentFilterRequest;
 import followarcane.wow_lfg_discord_bot.application.response.RecruitmentFilterResponse;
 import followarcane.wow_lfg_discord_bot.domain.model.DiscordServer;
@@ -10,7 +12,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @Slf4j
@@ -20,29 +27,29 @@ public class RecruitmentFilterService {
     private final RecruitmentFilterRepository filterRepository;
     private final DiscordServerRepository discordServerRepository;
 
+    // Sunucu ID -> derlenmiş filtre; updateFilters ve her fetch döngüsünde reloadFilters ile güncellenir
+    private final Map<String, CompiledRecruitmentFilter> compiledFilters = new ConcurrentHashMap<>();
+
     public boolean shouldSendMessage(String serverId, Map<String, String> playerInfo) {
-        RecruitmentFilter filter = filterRepository.findByServer_ServerId(serverId)
-            .orElse(createDefaultFilter());
+        return shouldSendMessage(serverId, RecruitmentProfile.from(playerInfo));
+    }
 
+    /**
+     * Önbellekteki derlenmiş filtre ile kontrol yapar; DB'ye gidilmez, string parse edilmez.
+     */
+    public boolean shouldSendMessage(String serverId, RecruitmentProfile profile) {
+        CompiledRecruitmentFilter filter = getCompiledFilter(serverId);
         try {
-            // Sadece başlangıç ve gelen bilgileri logla
-            log.debug("[FILTER_CHECK] Starting filter check for server: {} with player info: {}", 
-                serverId, playerInfo);
-
-            boolean classMatch = checkClassFilter(filter, playerInfo.get("class"));
-            boolean roleMatch = checkRoleFilter(filter, playerInfo.get("role"));
-            boolean ilevelMatch = checkIlevelFilter(filter, playerInfo.get("ilevel"));
-            boolean progressMatch = checkProgressFilter(filter, playerInfo.get("progress"));
-
-            boolean finalResult = classMatch && roleMatch && ilevelMatch && progressMatch;
+            boolean finalResult = filter.test(profile);
 
             // Eğer filtre başarısız olduysa nedenini logla (karakter bilgisi varsa ekle)
-            if (!finalResult) {
+            if (!finalResult && log.isDebugEnabled()) {
+                Map<String, String> playerInfo = profile.getPlayerInfo();
                 String charContext = playerInfo.containsKey("name") && playerInfo.containsKey("realm")
                         ? String.format(" [%s|%s]", playerInfo.get("name"), playerInfo.get("realm"))
                         : "";
-                log.info("[FILTER_FAILED] Server: {}{}, Failed filters: {}",
-                        serverId, charContext, getFailedFilters(classMatch, roleMatch, ilevelMatch, progressMatch, filter, playerInfo));
+                log.debug("[FILTER_FAILED] Server: {}{}, Failed filters: {}",
+                        serverId, charContext, getFailedFilters(filter, profile));
             }
 
             return finalResult;
@@ -52,114 +59,61 @@ public class RecruitmentFilterService {
         }
     }
 
-    private RecruitmentFilter createDefaultFilter() {
-        RecruitmentFilter filter = new RecruitmentFilter();
-        filter.setClassFilter("ANY");
-        filter.setRoleFilter("ANY");
-        filter.setRaidProgress("ANY");
-        return filter;
+    /**
+     * Sunucunun derlenmiş filtresi; ilk erişimde DB'den yüklenip önbelleğe alınır.
+     */
+    public CompiledRecruitmentFilter getCompiledFilter(String serverId) {
+        return compiledFilters.computeIfAbsent(serverId, id -> filterRepository.findByServer_ServerId(id)
+                .map(CompiledRecruitmentFilter::compile)
+                .orElse(CompiledRecruitmentFilter.ALLOW_ALL));
     }
 
-    private boolean checkClassFilter(RecruitmentFilter filter, String playerClass) {
-        if (filter.getClassFilter().equals("ANY")) return true;
-        
-        // Class ismini normalize et
-        String normalizedPlayerClass = playerClass.toUpperCase().replace(" ", "_");
-        
-        // DB'deki filtreyi virgülle ayır
-        String[] allowedClasses = filter.getClassFilter().split(",");
-        
-        // Her bir class için tam eşleşme kontrol et
-        for (String allowedClass : allowedClasses) {
-            if (normalizedPlayerClass.equals(allowedClass.trim())) {
-                return true;
+    /**
+     * Verilen sunucuların filtrelerini tek sorguda yeniden derler; her fetch döngüsünde çağrılır.
+     * Filtre başka bir shard process'inde güncellenmiş olabileceği için önbellekteki eski derlemeler üzerine yazılır.
+     * Listede olmayan sunucuların kayıtları düşürülür, ilk erişimde DB'den tekrar yüklenir.
+     */
+    public void reloadFilters(Collection<String> serverIds) {
+        Set<String> requested = new HashSet<>(serverIds);
+        Map<String, CompiledRecruitmentFilter> loaded = new HashMap<>();
+        for (RecruitmentFilter filter : filterRepository.findAll()) {
+            if (filter.getServer() != null && requested.contains(filter.getServer().getServerId())) {
+                loaded.put(filter.getServer().getServerId(), CompiledRecruitmentFilter.compile(filter));
             }
         }
-        
-        return false;
-    }
-
-    private boolean checkRoleFilter(RecruitmentFilter filter, String playerRole) {
-        if (filter.getRoleFilter().equals("ANY")) return true;
-
-        // HEALER ve HEALING rollerini normalize et
-        String normalizedPlayerRole = playerRole.equals("HEALING") ? "HEALER" : playerRole;
-        String normalizedFilterRole = filter.getRoleFilter().equals("HEALING") ? "HEALER" : filter.getRoleFilter();
-
-        return normalizedFilterRole.contains(normalizedPlayerRole);
-    }
-
-    private boolean checkIlevelFilter(RecruitmentFilter filter, String playerIlevel) {
-        if (filter.getMinIlevel() == null) return true;
-        
-        try {
-            // Decimal kısmını at
-            double ilevel = Double.parseDouble(playerIlevel);
-            int playerIlevelInt = (int) ilevel;
-            
-            return playerIlevelInt >= filter.getMinIlevel();
-        } catch (NumberFormatException e) {
-            log.error("[ILEVEL_ERROR] Invalid ilevel format: {}, allowing message", playerIlevel);
-            return true;  // Parse hatası olursa mesajı göster
+        compiledFilters.keySet().retainAll(requested);
+        for (String serverId : requested) {
+            compiledFilters.put(serverId, loaded.getOrDefault(serverId, CompiledRecruitmentFilter.ALLOW_ALL));
         }
+        log.info("[FILTER_CACHE] Compiled filters for {} servers", requested.size());
     }
 
-    private boolean checkProgressFilter(RecruitmentFilter filter, String playerProgress) {
-        if (filter.getRaidProgress().equals("ANY")) return true;
-        
-        try {
-            // Progress formatını normalize et
-            String normalizedPlayerProgress = playerProgress.replace(" ", "");
-            String normalizedFilterProgress = filter.getRaidProgress().replace(" ", "");
-            
-            String[] required = normalizedFilterProgress.split("/");
-            String[] player = normalizedPlayerProgress.split("/");
-            
-            int reqBoss = Integer.parseInt(required[0]);
-            int playerBoss = Integer.parseInt(player[0]);
-            
-            String reqDiff = required[1].substring(required[1].length() - 1);
-            String playerDiff = player[1].substring(player[1].length() - 1);
-            
-            // Difficulty comparison (N < H < M)
-            if (!reqDiff.equals(playerDiff)) {
-                return getDifficultyValue(playerDiff) >= getDifficultyValue(reqDiff);
-            }
-            
-            return playerBoss >= reqBoss;
-        } catch (Exception e) {
-            log.error("[PROGRESS_ERROR] Error parsing progress values: {} vs {}", 
-                filter.getRaidProgress(), playerProgress);
-            return true;
-        }
+    private RecruitmentFilter createDefaultFilter() {
+        RecruitmentFilter filter = new RecruitmentFilter();
+        filter.setClassFilter("ANY");
+        filter.setRoleFilter("ANY");
+        filter.setRaidProgress("ANY");
+        return filter;
     }
 
-    private int getDifficultyValue(String difficulty) {
-        return switch (difficulty.toUpperCase()) {
-            case "N" -> 1;
-            case "H" -> 2;
-            case "M" -> 3;
-            default -> 0;
-        };
-    }
+    private String getFailedFilters(CompiledRecruitmentFilter compiled, RecruitmentProfile profile) {
+        RecruitmentFilter filter = compiled.getSource();
+        Map<String, String> playerInfo = profile.getPlayerInfo();
 
-    private String getFailedFilters(boolean classMatch, boolean roleMatch, boolean ilevelMatch, 
-        boolean progressMatch, RecruitmentFilter filter, Map<String, String> playerInfo) {
-        
         StringBuilder failed = new StringBuilder();
-        if (!classMatch) {
+        if (!compiled.classMatches(profile)) {
             failed.append(String.format("Class(required:%s,got:%s) ", 
                 filter.getClassFilter(), playerInfo.get("class")));
         }
-        if (!roleMatch) {
+        if (!compiled.roleMatches(profile)) {
             failed.append(String.format("Role(required:%s,got:%s) ", 
                 filter.getRoleFilter(), playerInfo.get("role")));
         }
-        if (!ilevelMatch) {
+        if (!compiled.ilevelMatches(profile)) {
             failed.append(String.format("iLevel(required:%d,got:%s) ", 
                 filter.getMinIlevel(), playerInfo.get("ilevel")));
         }
-        if (!progressMatch) {
+        if (!compiled.progressMatches(profile)) {
             failed.append(String.format("Progress(required:%s,got:%s)", 
                 filter.getRaidProgress(), playerInfo.get("progress")));
         }
@@ -184,6 +138,7 @@ public class RecruitmentFilterService {
         filter.setRaidProgress(request.getRaidProgress());
 
         filterRepository.save(filter);
+        compiledFilters.put(serverId, CompiledRecruitmentFilter.compile(filter));
     }
 
     public RecruitmentFilterResponse getFilters(String serverId) {
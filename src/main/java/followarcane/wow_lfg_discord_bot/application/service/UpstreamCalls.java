@@ -0,0 +1,41 @@
+package followarcane.wow_lfg_discord_bot.application.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Upstream çağrılarını sanal thread'lerde başlatıp süre sınırı koyar.
+ * Süresi dolan veya hata veren çağrı null ile tamamlanır; çağıran taraf eldeki kısmi veriyle devam eder.
+ */
+@Slf4j
+final class UpstreamCalls {
+
+    // Eşzamanlılık komut havuzlarında sınırlı; burada bloklayan HTTP çağrıları için sanal thread yeterli
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private UpstreamCalls() {
+    }
+
+    static <T> CompletableFuture<T> supplyAsync(String label, long timeoutMs, Supplier<T> call) {
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(call, EXECUTOR);
+        if (timeoutMs > 0) {
+            future = future.orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+        }
+        return future.exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof TimeoutException) {
+                log.warn("[UPSTREAM_TIMEOUT] {} did not complete within {} ms", label, timeoutMs);
+            } else {
+                log.error("[UPSTREAM_ERROR] {} failed: {}", label, cause.getMessage(), cause);
+            }
+            return null;
+        });
+    }
+}
@@ -1,29 +1,26 @@
 package followarcane.wow_lfg_discord_bot.application.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import followarcane.wow_lfg_discord_bot.application.util.ClassColorCodeHelper;
 import lombok.extern.slf4j.Slf4j;
 import net.dv8tion.jda.api.EmbedBuilder;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
 import java.awt.*;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @Slf4j
 public class WowVaultService {
 
-    private final RestTemplate restTemplate;
+    private final RaiderIoClient raiderIoClient;
     private final ClassColorCodeHelper classColorCodeHelper;
     private final BattleNetApiService battleNetApiService;
 
-    public WowVaultService(RestTemplate restTemplate, ClassColorCodeHelper classColorCodeHelper, BattleNetApiService battleNetApiService) {
-        this.restTemplate = restTemplate;
+    public WowVaultService(RaiderIoClient raiderIoClient, ClassColorCodeHelper classColorCodeHelper, BattleNetApiService battleNetApiService) {
+        this.raiderIoClient = raiderIoClient;
         this.classColorCodeHelper = classColorCodeHelper;
         this.battleNetApiService = battleNetApiService;
     }
@@ -33,17 +30,17 @@ public class WowVaultService {
      */
     public EmbedBuilder createVaultEmbed(String name, String realm, String region) {
         try {
-            // 1. Raider.io API'den Mythic+ verilerini al
-            JsonNode raiderIoData = fetchRaiderIoData(name, realm, region);
+            // Raider.io Mythic+ ve Blizzard raid verisi paralel çekilir; süre sınırını aşan null döner
+            CompletableFuture<JsonNode> raiderIoFuture = raiderIoClient.fetchCharacterProfileAsync(name, realm, region);
+            CompletableFuture<JsonNode> blizzardFuture = battleNetApiService.fetchCharacterRaidDataAsync(name, realm, region);
+            JsonNode raiderIoData = raiderIoFuture.join();
             if (raiderIoData == null) {
-                return createErrorEmbed("Character not found",
-                        "Could not find character: " + name + " on " + realm + "-" + region.toUpperCase());
+                return createMissingProfileEmbed(name, realm, region);
             }
 
-            // 2. Blizzard API'den raid verilerini al
-            JsonNode blizzardData = fetchBlizzardData(name, realm, region);
+            JsonNode blizzardData = blizzardFuture.join();
 
-            // 3. Embed mesajı oluştur
+            // Embed mesajı oluştur
             return buildVaultEmbed(raiderIoData, blizzardData, name, realm, region);
         } catch (Exception e) {
             log.error("Error creating vault embed: {}", e.getMessage(), e);
@@ -59,8 +56,7 @@ public class WowVaultService {
             // Raider.io API'den Mythic+ verilerini al
             JsonNode raiderIoData = fetchRaiderIoData(name, realm, region);
             if (raiderIoData == null) {
-                return createErrorEmbed("Character not found",
-                        "Could not find character: " + name + " on " + realm + "-" + region.toUpperCase());
+                return createMissingProfileEmbed(name, realm, region);
             }
 
             // Embed mesajı oluştur
@@ -94,32 +90,7 @@ public class WowVaultService {
      * Raider.io API'den karakter verilerini çeker
      */
     private JsonNode fetchRaiderIoData(String name, String realm, String region) {
-        try {
-            String raiderIoUrl = UriComponentsBuilder.fromHttpUrl("https://raider.io/api/v1/characters/profile")
-                    .queryParam("region", region)
-                    .queryParam("realm", realm)
-                    .queryParam("name", name)
-                    .queryParam("fields", "mythic_plus_scores_by_season:current,mythic_plus_weekly_highest_level_runs")
-                    .build()
-                    .toUriString();
-
-            log.info("Fetching Raider.io data from: {}", raiderIoUrl);
-            ResponseEntity<String> response = restTemplate.getForEntity(raiderIoUrl, String.class);
-
-            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                return new ObjectMapper().readTree(response.getBody());
-            }
-        } catch (Exception e) {
-            log.error("Error fetching Raider.io data: {}", e.getMessage(), e);
-        }
-        return null;
-    }
-
-    /**
-     * Blizzard API'den raid verilerini çeker
-     */
-    private JsonNode fetchBlizzardData(String name, String realm, String region) {
-        return battleNetApiService.fetchCharacterRaidData(name, realm, region);
+        return raiderIoClient.fetchCharacterProfile(name, realm, region);
     }
 
     /**
@@ -186,35 +157,40 @@ public class WowVaultService {
         // Raid bölümü
         StringBuilder raidSection = new StringBuilder();
 
-        // Raid ödüllerinin durumunu göster
-        String slot1Status = raidBossCounts[0] >= 2 ? "✅" : "🔒";
-        String slot2Status = raidBossCounts[0] >= 4 ? "✅" : "🔒";
-        String slot3Status = raidBossCounts[0] >= 6 ? "✅" : "🔒";
-
-        // İlerleme durumunu göster
-        String raid1Progress = raidBossCounts[0] >= 2 ? "2/2" : raidBossCounts[0] + "/2";
-        String raid2Progress = raidBossCounts[0] >= 4 ? "4/4" : raidBossCounts[0] + "/4";
-        String raid3Progress = raidBossCounts[0] >= 6 ? "6/6" : raidBossCounts[0] + "/6";
-
-        // String.format kullanarak sabit genişlikli alanlar oluştur
-        raidSection.append("Slot 1: Defeat 2 Bosses\n");
-        raidSection.append(slot1Status + " " + raid1Progress);
-        if (!raidRewards[0].equals("No Reward")) {
-            raidSection.append(" → " + raidRewards[0]);
-        }
-        raidSection.append("\n\n");
+        if (blizzardData == null) {
+            // Blizzard cevap vermediyse hesaplanmış 0/2, 0/4, 0/6 gerçek ilerleme gibi görünmesin
+            raidSection.append("Raid progress unavailable");
+        } else {
+            // Raid ödüllerinin durumunu göster
+            String slot1Status = raidBossCounts[0] >= 2 ? "✅" : "🔒";
+            String slot2Status = raidBossCounts[0] >= 4 ? "✅" : "🔒";
+            String slot3Status = raidBossCounts[0] >= 6 ? "✅" : "🔒";
+
+            // İlerleme durumunu göster
+            String raid1Progress = raidBossCounts[0] >= 2 ? "2/2" : raidBossCounts[0] + "/2";
+            String raid2Progress = raidBossCounts[0] >= 4 ? "4/4" : raidBossCounts[0] + "/4";
+            String raid3Progress = raidBossCounts[0] >= 6 ? "6/6" : raidBossCounts[0] + "/6";
+
+            // String.format kullanarak sabit genişlikli alanlar oluştur
+            raidSection.append("Slot 1: Defeat 2 Bosses\n");
+            raidSection.append(slot1Status + " " + raid1Progress);
+            if (!raidRewards[0].equals("No Reward")) {
+                raidSection.append(" → " + raidRewards[0]);
+            }
+            raidSection.append("\n\n");
 
-        raidSection.append("Slot 2: Defeat 4 Bosses\n");
-        raidSection.append(slot2Status + " " + raid2Progress);
-        if (!raidRewards[1].equals("No Reward")) {
-            raidSection.append(" → " + raidRewards[1]);
-        }
-        raidSection.append("\n\n");
+            raidSection.append("Slot 2: Defeat 4 Bosses\n");
+            raidSection.append(slot2Status + " " + raid2Progress);
+            if (!raidRewards[1].equals("No Reward")) {
+                raidSection.append(" → " + raidRewards[1]);
+            }
+            raidSection.append("\n\n");
 
-        raidSection.append("Slot 3: Defeat 6 Bosses\n");
-        raidSection.append(slot3Status + " " + raid3Progress);
-        if (!raidRewards[2].equals("No Reward")) {
-            raidSection.append(" → " + raidRewards[2]);
+            raidSection.append("Slot 3: Defeat 6 Bosses\n");
+            raidSection.append(slot3Status + " " + raid3Progress);
+            if (!raidRewards[2].equals("No Reward")) {
+                raidSection.append(" → " + raidRewards[2]);
+            }
         }
         raidSection.append("\n\n\n\n\n");
 
@@ -509,6 +485,18 @@ public class WowVaultService {
         }
     }
 
+    /**
+     * Profil gelmediğinde: Raider.io karakteri bulamadıysa "not found", süre aşımı veya hata ise tekrar deneme mesajı.
+     */
+    private EmbedBuilder createMissingProfileEmbed(String name, String realm, String region) {
+        if (raiderIoClient.isKnownNotFound(name, realm, region)) {
+            return createErrorEmbed("Character not found",
+                    "Could not find character: " + name + " on " + realm + "-" + region.toUpperCase());
+        }
+        return createErrorEmbed("Service unavailable",
+                "Raider.io did not respond in time. Please try again in a few minutes.");
+    }
+
     /**
      * Hata durumunda gösterilecek embed'i oluşturur
      */
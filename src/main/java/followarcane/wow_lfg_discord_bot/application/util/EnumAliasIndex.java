@@ -0,0 +1,103 @@
+package followarcane.wow_lfg_discord_bot.application.util;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Enum değerleri için bir kez kurulan, değiştirilemez alias tablosu.
+ * <p>
+ * Önce tam eşleşme aranır: formatlanmış adlar alias'lardan önce gelir, aynı ad birden fazla değerde varsa tanım
+ * sırasındaki ilk değer kazanır. Tam eşleşme yoksa en az {@value #MIN_PREFIX_LENGTH} karakterlik önek denenir; önek
+ * birden fazla değere uyuyorsa sadece en kısa tamamlama diğerlerinin öneki olduğunda çözülür ("war" -> belirsiz).
+ */
+public final class EnumAliasIndex<E extends Enum<E>> {
+
+    private static final int MIN_PREFIX_LENGTH = 3;
+
+    private final Map<String, E> exact;
+    private final Map<String, E> prefixes;
+
+    private EnumAliasIndex(Map<String, E> exact, Map<String, E> prefixes) {
+        this.exact = exact;
+        this.prefixes = prefixes;
+    }
+
+    public static <E extends Enum<E>> EnumAliasIndex<E> of(Collection<E> values, Function<E, String> formattedName, Function<E, List<String>> aliases) {
+        Map<String, E> exact = new LinkedHashMap<>();
+        for (E value : values) {
+            String name = normalize(formattedName.apply(value));
+            if (!name.isEmpty()) {
+                exact.putIfAbsent(name, value);
+            }
+        }
+        for (E value : values) {
+            for (String alias : aliases.apply(value)) {
+                String name = normalize(alias);
+                if (!name.isEmpty()) {
+                    exact.putIfAbsent(name, value);
+                }
+            }
+        }
+
+        // Önek -> bu önekle başlayan tam adlar
+        Map<String, List<String>> completions = new HashMap<>();
+        for (String name : exact.keySet()) {
+            for (int length = MIN_PREFIX_LENGTH; length < name.length(); length++) {
+                String prefix = name.substring(0, length);
+                if (!exact.containsKey(prefix)) {
+                    completions.computeIfAbsent(prefix, key -> new ArrayList<>()).add(name);
+                }
+            }
+        }
+
+        Map<String, E> prefixes = new HashMap<>();
+        completions.forEach((prefix, names) -> {
+            E value = resolvePrefix(names, exact);
+            if (value != null) {
+                prefixes.put(prefix, value);
+            }
+        });
+
+        return new EnumAliasIndex<>(Map.copyOf(exact), Map.copyOf(prefixes));
+    }
+
+    /**
+     * Tüm tamamlamalar aynı değere aitse o değer; değilse en kısa tamamlama diğer hepsinin öneki ise onun değeri
+     * ("tri" -> "trinket", "trinket1" değil). Aksi halde önek belirsizdir.
+     */
+    private static <E> E resolvePrefix(List<String> names, Map<String, E> exact) {
+        E first = exact.get(names.get(0));
+        if (names.stream().allMatch(name -> exact.get(name) == first)) {
+            return first;
+        }
+
+        String shortest = Collections.min(names, Comparator.comparingInt(String::length));
+        return names.stream().allMatch(name -> name.startsWith(shortest)) ? exact.get(shortest) : null;
+    }
+
+    public E find(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        String name = normalize(text);
+        E value = exact.get(name);
+        return value != null ? value : prefixes.get(name);
+    }
+
+    /**
+     * Küçük harf; boşluk, alt çizgi, tire ve kesme işareti olmadan ("San'layn" -> "sanlayn").
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != ' ' && c != '_' && c != '-' && c != '\'') {
+                builder.append(Character.toLowerCase(c));
+            }
+        }
+        return builder.toString();
+    }
+}
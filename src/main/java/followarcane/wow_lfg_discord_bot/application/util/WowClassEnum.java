@@ -18,6 +18,9 @@ public enum WowClassEnum {
     WARLOCK("Warlock", Arrays.asList("warlock", "lock")),
     WARRIOR("Warrior", Arrays.asList("warrior", "warr"));
 
+    private static final EnumAliasIndex<WowClassEnum> INDEX =
+            EnumAliasIndex.of(Arrays.asList(values()), WowClassEnum::getFormattedName, WowClassEnum::getAliases);
+
     private final String formattedName;
     private final List<String> aliases;
 
@@ -27,21 +30,7 @@ public enum WowClassEnum {
     }
 
     public static WowClassEnum fromString(String text) {
-        if (text == null || text.isEmpty()) {
-            return null;
-        }
-
-        String lowerText = text.toLowerCase();
-
-        for (WowClassEnum wowClass : WowClassEnum.values()) {
-            if (wowClass.formattedName.equalsIgnoreCase(text) ||
-                    wowClass.formattedName.toLowerCase().contains(lowerText) ||
-                    wowClass.aliases.contains(lowerText)) {
-                return wowClass;
-            }
-        }
-
-        return null;
+        return INDEX.find(text);
     }
 
     public String getFormattedName() {
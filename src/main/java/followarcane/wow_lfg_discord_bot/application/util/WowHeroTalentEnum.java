@@ -2,7 +2,9 @@ package followarcane.wow_lfg_discord_bot.application.util;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 public enum WowHeroTalentEnum {
     // Death Knight
@@ -109,6 +111,24 @@ public enum WowHeroTalentEnum {
     SLAYER("Slayer", Arrays.asList(WowSpecEnum.ARMS, WowSpecEnum.FURY),
             Arrays.asList("slayer", "slay"));
 
+    private static final EnumAliasIndex<WowHeroTalentEnum> INDEX =
+            EnumAliasIndex.of(Arrays.asList(values()), WowHeroTalentEnum::getFormattedName, WowHeroTalentEnum::getAliases);
+    private static final Map<WowSpecEnum, List<WowHeroTalentEnum>> TALENTS_BY_SPEC = new EnumMap<>(WowSpecEnum.class);
+    private static final Map<WowSpecEnum, EnumAliasIndex<WowHeroTalentEnum>> INDEX_BY_SPEC = new EnumMap<>(WowSpecEnum.class);
+
+    static {
+        Map<WowSpecEnum, List<WowHeroTalentEnum>> talentsBySpec = new EnumMap<>(WowSpecEnum.class);
+        for (WowHeroTalentEnum talent : values()) {
+            for (WowSpecEnum spec : talent.specs) {
+                talentsBySpec.computeIfAbsent(spec, key -> new ArrayList<>()).add(talent);
+            }
+        }
+        talentsBySpec.forEach((spec, talents) -> {
+            TALENTS_BY_SPEC.put(spec, List.copyOf(talents));
+            INDEX_BY_SPEC.put(spec, EnumAliasIndex.of(talents, WowHeroTalentEnum::getFormattedName, WowHeroTalentEnum::getAliases));
+        });
+    }
+
     private final String formattedName;
     private final List<WowSpecEnum> specs;
     private final List<String> aliases;
@@ -120,55 +140,25 @@ public enum WowHeroTalentEnum {
     }
 
     public static WowHeroTalentEnum fromString(String text) {
-        if (text == null || text.isEmpty()) {
-            return null;
-        }
-
-        String lowerText = text.toLowerCase();
-
-        for (WowHeroTalentEnum talent : WowHeroTalentEnum.values()) {
-            if (talent.formattedName.equalsIgnoreCase(text) ||
-                    talent.formattedName.toLowerCase().contains(lowerText) ||
-                    talent.aliases.contains(lowerText)) {
-                return talent;
-            }
-        }
-
-        return null;
+        return INDEX.find(text);
     }
 
+    /**
+     * Sadece verilen spec'in hero talent'ları arasında arar; "fs" evoker için FLAMESHAPER, shaman için FARSEER döner.
+     */
     public static WowHeroTalentEnum fromString(String text, WowSpecEnum spec) {
-        if (text == null || text.isEmpty() || spec == null) {
+        if (spec == null) {
             return null;
         }
-
-        String lowerText = text.toLowerCase();
-
-        for (WowHeroTalentEnum talent : WowHeroTalentEnum.values()) {
-            if (talent.specs.contains(spec) &&
-                    (talent.formattedName.equalsIgnoreCase(text) ||
-                            talent.formattedName.toLowerCase().contains(lowerText) ||
-                            talent.aliases.contains(lowerText))) {
-                return talent;
-            }
-        }
-
-        return null;
+        EnumAliasIndex<WowHeroTalentEnum> specIndex = INDEX_BY_SPEC.get(spec);
+        return specIndex != null ? specIndex.find(text) : null;
     }
 
     public static List<WowHeroTalentEnum> getHeroTalentsForSpec(WowSpecEnum spec) {
         if (spec == null) {
             return List.of();
         }
-
-        List<WowHeroTalentEnum> talents = new ArrayList<>();
-        for (WowHeroTalentEnum talent : WowHeroTalentEnum.values()) {
-            if (talent.specs.contains(spec)) {
-                talents.add(talent);
-            }
-        }
-
-        return talents;
+        return TALENTS_BY_SPEC.getOrDefault(spec, List.of());
     }
 
     public String getFormattedName() {
@@ -23,6 +23,9 @@ public enum WowSlotEnum {
     MAIN_HAND("Main Hand", Arrays.asList("main hand", "main_hand", "mainhand", "weapon", "weapon1", "mh", "main-hand")),
     OFF_HAND("Off Hand", Arrays.asList("off hand", "off_hand", "offhand", "weapon2", "oh", "off-hand"));
 
+    private static final EnumAliasIndex<WowSlotEnum> INDEX =
+            EnumAliasIndex.of(Arrays.asList(values()), WowSlotEnum::getFormattedName, WowSlotEnum::getAliases);
+
     private final String formattedName;
     private final List<String> aliases;
 
@@ -32,21 +35,7 @@ public enum WowSlotEnum {
     }
 
     public static WowSlotEnum fromString(String text) {
-        if (text == null || text.isEmpty()) {
-            return null;
-        }
-
-        String lowerText = text.toLowerCase();
-
-        for (WowSlotEnum slot : WowSlotEnum.values()) {
-            if (slot.formattedName.equalsIgnoreCase(text) ||
-                    slot.formattedName.toLowerCase().contains(lowerText) ||
-                    slot.aliases.contains(lowerText)) {
-                return slot;
-            }
-        }
-
-        return null;
+        return INDEX.find(text);
     }
 
     public String getFormattedName() {
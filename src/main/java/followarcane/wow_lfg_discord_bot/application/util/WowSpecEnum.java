@@ -1,7 +1,10 @@
 package followarcane.wow_lfg_discord_bot.application.util;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 public enum WowSpecEnum {
     // Death Knight
@@ -69,6 +72,20 @@ public enum WowSpecEnum {
     FURY("Fury", WowClassEnum.WARRIOR, Arrays.asList("fury")),
     PROTECTION_WARRIOR("Protection", WowClassEnum.WARRIOR, Arrays.asList("protection", "prot", "prot warr", "tank warrior"));
 
+    // Aynı ad birden fazla sınıfta varsa ("Frost", "Holy") tanım sırasındaki ilk spec döner
+    private static final EnumAliasIndex<WowSpecEnum> INDEX =
+            EnumAliasIndex.of(Arrays.asList(values()), WowSpecEnum::getFormattedName, WowSpecEnum::getAliases);
+    private static final Map<WowClassEnum, EnumAliasIndex<WowSpecEnum>> INDEX_BY_CLASS = new EnumMap<>(WowClassEnum.class);
+
+    static {
+        Map<WowClassEnum, List<WowSpecEnum>> specsByClass = new EnumMap<>(WowClassEnum.class);
+        for (WowSpecEnum spec : values()) {
+            specsByClass.computeIfAbsent(spec.wowClass, wowClass -> new ArrayList<>()).add(spec);
+        }
+        specsByClass.forEach((wowClass, specs) ->
+                INDEX_BY_CLASS.put(wowClass, EnumAliasIndex.of(specs, WowSpecEnum::getFormattedName, WowSpecEnum::getAliases)));
+    }
+
     private final String formattedName;
     private final WowClassEnum wowClass;
     private final List<String> aliases;
@@ -80,40 +97,18 @@ public enum WowSpecEnum {
     }
 
     public static WowSpecEnum fromString(String text) {
-        if (text == null || text.isEmpty()) {
-            return null;
-        }
-
-        String lowerText = text.toLowerCase();
-
-        for (WowSpecEnum spec : WowSpecEnum.values()) {
-            if (spec.formattedName.equalsIgnoreCase(text) ||
-                    spec.formattedName.toLowerCase().contains(lowerText) ||
-                    spec.aliases.contains(lowerText)) {
-                return spec;
-            }
-        }
-
-        return null;
+        return INDEX.find(text);
     }
 
+    /**
+     * Sadece verilen sınıfın spec'leri arasında arar; "frost" mage için FROST_MAGE döner.
+     */
     public static WowSpecEnum fromString(String text, WowClassEnum wowClass) {
-        if (text == null || text.isEmpty() || wowClass == null) {
+        if (wowClass == null) {
             return null;
         }
-
-        String lowerText = text.toLowerCase();
-
-        for (WowSpecEnum spec : WowSpecEnum.values()) {
-            if (spec.wowClass == wowClass &&
-                    (spec.formattedName.equalsIgnoreCase(text) ||
-                            spec.formattedName.toLowerCase().contains(lowerText) ||
-                            spec.aliases.contains(lowerText))) {
-                return spec;
-            }
-        }
-
-        return null;
+        EnumAliasIndex<WowSpecEnum> classIndex = INDEX_BY_CLASS.get(wowClass);
+        return classIndex != null ? classIndex.find(text) : null;
     }
 
     public String getFormattedName() {
@@ -3,9 +3,6 @@ package followarcane.wow_lfg_discord_bot.domain.model;
 import jakarta.persistence.*;
 import lombok.Data;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Entity
 @Data
 @Table(name = "discord_channels")
@@ -19,9 +16,4 @@ public class DiscordChannel {
     @ManyToOne
     @JoinColumn(name = "server_id")
     private DiscordServer server;
-
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "last_sent_characters", joinColumns = @JoinColumn(name = "channel_id"))
-    @Column(name = "character_name")
-    private List<String> lastSentCharacters = new ArrayList<>();
 }
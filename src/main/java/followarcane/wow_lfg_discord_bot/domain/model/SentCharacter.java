@@ -0,0 +1,17 @@
+package followarcane.wow_lfg_discord_bot.domain.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+@Entity
+@Data
+@Table(name = "lfg_sent_characters", indexes = @Index(name = "idx_lfg_sent_characters_sent_at", columnList = "sentAt"))
+public class SentCharacter {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lfg_sent_characters_id_seq")
+    @SequenceGenerator(name = "lfg_sent_characters_id_seq", sequenceName = "lfg_sent_characters_id_seq", allocationSize = 50)
+    private Long id;
+    private String channelId;
+    private String characterKey;
+    private Long sentAt;
+}
@@ -2,11 +2,8 @@ package followarcane.wow_lfg_discord_bot.domain.repository;
 
 import followarcane.wow_lfg_discord_bot.domain.model.Message;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
-    @Query("SELECT MAX(m.id) FROM Message m")
-    Long findMaxId();
-}
\ No newline at end of file
+}
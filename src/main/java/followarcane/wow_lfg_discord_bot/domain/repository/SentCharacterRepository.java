@@ -0,0 +1,21 @@
+package followarcane.wow_lfg_discord_bot.domain.repository;
+
+import followarcane.wow_lfg_discord_bot.domain.model.SentCharacter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface SentCharacterRepository extends JpaRepository<SentCharacter, Long> {
+    List<SentCharacter> findBySentAtGreaterThanEqualOrderBySentAtAsc(Long sentAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SentCharacter s WHERE s.sentAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Long cutoff);
+}
@@ -1,19 +1,114 @@
 package followarcane.wow_lfg_discord_bot.infrastructure.config;
 
+import followarcane.wow_lfg_discord_bot.infrastructure.properties.DiscordShardProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import net.dv8tion.jda.api.JDA;
-import net.dv8tion.jda.api.JDABuilder;
+import net.dv8tion.jda.api.entities.Activity;
+import net.dv8tion.jda.api.requests.GatewayIntent;
+import net.dv8tion.jda.api.sharding.DefaultShardManagerBuilder;
+import net.dv8tion.jda.api.sharding.ShardManager;
+import net.dv8tion.jda.api.utils.ChunkingFilter;
+import net.dv8tion.jda.api.utils.MemberCachePolicy;
+import net.dv8tion.jda.api.utils.cache.CacheFlag;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
+@Slf4j
 public class JDAConfig {
 
     @Value("${discord.bot.token}")
     private String token;
 
-    @Bean
-    public JDA jda() {
-        return JDABuilder.createDefault(token).build();
+    // lean: intent'siz, sadece guild/kanal/rol cache'i; default: JDA varsayılan intent'leri, üye cache'i kapalı
+    @Value("${discord.gateway.profile:lean}")
+    private String gatewayProfile;
+
+    @Value("${discord.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private final DiscordShardProperties shardProperties;
+
+    private ShardManager shardManager;
+
+    public JDAConfig(DiscordShardProperties shardProperties) {
+        this.shardProperties = shardProperties;
+    }
+
+    /**
+     * Uygulamadaki tek gateway bağlantısı; listener'lar kendilerini ApplicationReady'de ekler.
+     * Bot çoğunlukla embed gönderdiği için üye cache'i ve chunking kapalıdır; intent ve cache seçimi discord.gateway.profile'a göre yapılır.
+     */
+    @Bean(destroyMethod = "")
+    public ShardManager shardManager() {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalStateException("Discord bot token is not provided!");
+        }
+
+        DefaultShardManagerBuilder builder = gatewayBuilder()
+                .setActivity(Activity.customStatus("https://azerite.app"))
+                .setShardsTotal(shardProperties.getTotal());
+        // Aralık DiscordShardProperties.validate() ile açılışta doğrulanmıştır
+        if (shardProperties.hasRange()) {
+            builder.setShards(shardProperties.getMin(), shardProperties.getMax());
+        }
+
+        shardManager = builder.build();
+        log.info("[DISCORD_START] Shard manager created with {} gateway profile. Shards total: {}, range: {}",
+                gatewayProfile, shardProperties.getTotal() > 0 ? shardProperties.getTotal() : "recommended",
+                shardProperties.hasRange() ? shardProperties.getMin() + "-" + shardProperties.getMax() : "all");
+        return shardManager;
+    }
+
+    private DefaultShardManagerBuilder gatewayBuilder() {
+        if ("default".equalsIgnoreCase(gatewayProfile)) {
+            return DefaultShardManagerBuilder.createDefault(token)
+                    .disableIntents(GatewayIntent.GUILD_VOICE_STATES, GatewayIntent.GUILD_EXPRESSIONS, GatewayIntent.SCHEDULED_EVENTS,
+                            GatewayIntent.GUILD_MESSAGE_TYPING, GatewayIntent.DIRECT_MESSAGE_TYPING)
+                    .disableCache(CacheFlag.VOICE_STATE, CacheFlag.EMOJI, CacheFlag.STICKER, CacheFlag.SCHEDULED_EVENTS)
+                    .setMemberCachePolicy(MemberCachePolicy.NONE)
+                    .setChunkingFilter(ChunkingFilter.NONE);
+        }
+
+        // Interaction'lar ve guild/kanal olayları intent gerektirmez; heap üye sayısıyla değil kanal sayısıyla büyür.
+        // canTalk() kontrolü için kanal izin override'larında botun kendi override'ları da tutulur.
+        return DefaultShardManagerBuilder.createLight(token, EnumSet.noneOf(GatewayIntent.class))
+                .enableCache(CacheFlag.MEMBER_OVERRIDES)
+                .setMemberCachePolicy(MemberCachePolicy.NONE)
+                .setChunkingFilter(ChunkingFilter.NONE);
+    }
+
+    /**
+     * Bağlı bean'ler kapandıktan sonra çalışır: shard'ların kuyruktaki REST istekleri bitirilir, süre dolarsa zorla kapatılır.
+     */
+    @PreDestroy
+    void shutdown() {
+        if (shardManager == null) {
+            return;
+        }
+        List<JDA> shards = new ArrayList<>(shardManager.getShards());
+        shardManager.shutdown();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        try {
+            for (JDA shard : shards) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !shard.awaitShutdown(remaining, TimeUnit.NANOSECONDS)) {
+                    log.warn("[DISCORD_STOP] Shard {} did not shut down within {} ms, forcing shutdown", shard.getShardInfo().getShardId(), shutdownTimeoutMs);
+                    shard.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            shards.forEach(JDA::shutdownNow);
+        }
+        log.info("[DISCORD_STOP] {} shards closed", shards.size());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,20 @@
+package followarcane.wow_lfg_discord_bot.infrastructure.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "discord.commands")
+public class DiscordCommandProperties {
+    // Komut başına aynı anda çalışan handler sayısı; maxConcurrency'de olmayan komutlar bunu kullanır
+    private int defaultMaxConcurrency = 4;
+    // Komut başına bekleyebilecek istek sayısı; dolduğunda kullanıcıya "meşgul" cevabı verilir
+    private int queueCapacity = 50;
+    private Map<String, Integer> maxConcurrency = new HashMap<>();
+}
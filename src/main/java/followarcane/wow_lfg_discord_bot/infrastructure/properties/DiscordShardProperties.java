@@ -0,0 +1,54 @@
+package followarcane.wow_lfg_discord_bot.infrastructure.properties;
+
+import jakarta.annotation.PostConstruct;
+import lombok.Data;
+import net.dv8tion.jda.api.utils.MiscUtil;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "discord.shards")
+public class DiscordShardProperties {
+    // -1: Discord'un önerdiği shard sayısı. Birden fazla process shard paylaşacaksa sabit verilmelidir
+    private int total = -1;
+    // Bu process'in yönettiği shard aralığı (dahil); -1 ise tüm shard'lar
+    private int min = -1;
+    private int max = -1;
+
+    // Aralığın tek ucu verilmişse de aralık var sayılır; validate() bunu reddeder
+    public boolean hasRange() {
+        return min >= 0 || max >= 0;
+    }
+
+    /**
+     * Hatalı aralıkla başlayan process tüm shard'lara bağlanıp her LFG mesajını ikinci kez gönderirdi; bu yüzden açılışta reddedilir.
+     */
+    @PostConstruct
+    void validate() {
+        if (!hasRange()) {
+            return;
+        }
+        if (min < 0 || max < 0) {
+            throw new IllegalStateException("discord.shards.min and discord.shards.max must be set together (min=" + min + ", max=" + max + ")");
+        }
+        if (min > max) {
+            throw new IllegalStateException("discord.shards.min must not be greater than discord.shards.max (min=" + min + ", max=" + max + ")");
+        }
+        if (total <= 0 || max >= total) {
+            throw new IllegalStateException("discord.shards.total must be set and greater than discord.shards.max when a shard range is used (total=" + total + ", max=" + max + ")");
+        }
+    }
+
+    /**
+     * Guild'in shard'ı ((guildId >> 22) % total) bu process'in aralığında mı; aralık verilmemişse her guild bu process'e aittir.
+     */
+    public boolean managesGuild(String guildId) {
+        if (!hasRange()) {
+            return true;
+        }
+        int shardId = MiscUtil.getShardForGuild(guildId, total);
+        return shardId >= min && shardId <= max;
+    }
+}
@@ -0,0 +1,19 @@
+package followarcane.wow_lfg_discord_bot.infrastructure.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "http-client")
+public class HttpClientProperties {
+    private int maxTotal = 100;
+    private int maxPerRoute = 20;
+    private long connectTimeoutMs = 5000;
+    private long readTimeoutMs = 30000;
+    private long connectionRequestTimeoutMs = 5000;
+    private long idleEvictSeconds = 30;
+    private long timeToLiveSeconds = 300;
+}
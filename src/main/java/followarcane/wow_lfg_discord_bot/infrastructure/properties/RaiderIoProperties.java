@@ -0,0 +1,28 @@
+package followarcane.wow_lfg_discord_bot.infrastructure.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+@Component
+@Data
+@ConfigurationProperties(prefix = "raider-io")
+public class RaiderIoProperties {
+    private String url = "https://raider.io/api/v1";
+    // Async çağrılarda bu süreyi aşan profil yokmuş gibi değerlendirilir
+    private long timeoutMs = 8000;
+    private Cache cache = new Cache();
+
+    @Data
+    public static class Cache {
+        private long defaultTtlMs = 300000;
+        private long notFoundTtlMs = 60000;
+        private int maxSize = 5000;
+        // Alan adı (":current" gibi ekler hariç) -> TTL; birden fazla alan istenirse en kısa TTL geçerlidir
+        private Map<String, Long> fieldTtlMs = new HashMap<>();
+    }
+}
@@ -0,0 +1,16 @@
+package followarcane.wow_lfg_discord_bot.infrastructure.service.lfg;
+
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * latest-lfg feed'inin son görülen hali: HTTP validator'ları ve karakter anahtarı -> içerik parmak izi (SHA-256, hex).
+ */
+@Data
+public class LfgFeedState {
+    private String etag;
+    private String lastModified;
+    private Map<String, String> fingerprints = new HashMap<>();
+}
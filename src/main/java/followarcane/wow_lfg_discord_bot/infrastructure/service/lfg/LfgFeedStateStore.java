@@ -0,0 +1,50 @@
+package followarcane.wow_lfg_discord_bot.infrastructure.service.lfg;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+@Service
+@Slf4j
+public class LfgFeedStateStore {
+
+    @Value("${lfg.feed.state-file-path}")
+    private String stateFilePath;
+
+    private final ObjectMapper objectMapper;
+
+    public LfgFeedStateStore(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public LfgFeedState load() {
+        try {
+            Path stateFile = Paths.get(stateFilePath);
+            if (Files.exists(stateFile)) {
+                return objectMapper.readValue(stateFile.toFile(), LfgFeedState.class);
+            }
+        } catch (Exception e) {
+            log.error("[LFG_FEED_STATE] Error reading feed state from {}", stateFilePath, e);
+        }
+        return null;
+    }
+
+    public void save(LfgFeedState state) {
+        try {
+            Path stateFile = Paths.get(stateFilePath);
+            Files.createDirectories(stateFile.getParent());
+            // Yarım yazılmış dosya kalmasın diye önce geçici dosyaya yazılır
+            Path tempFile = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+            objectMapper.writeValue(tempFile.toFile(), state);
+            Files.move(tempFile, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            log.error("[LFG_FEED_STATE] Error writing feed state to {}", stateFilePath, e);
+        }
+    }
+}
@@ -26,6 +26,7 @@ public class VersionNotifierService {
     private String discordWebhookUrl;
 
     private final VersionStorageService versionStorage;
+    private final RestTemplate restTemplate;
 
     @EventListener(ApplicationReadyEvent.class)
     public void notifyVersionChange() {
@@ -40,7 +41,6 @@ public class VersionNotifierService {
     private void sendDiscordNotification(String newVersion, String oldVersion) {
         String message = createDiscordEmbedMessage(newVersion, oldVersion);
 
-        RestTemplate restTemplate = new RestTemplate();
         HttpHeaders headers = new HttpHeaders();
         headers.set("Content-Type", "application/json");
 
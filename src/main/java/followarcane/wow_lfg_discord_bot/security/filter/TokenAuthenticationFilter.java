@@ -1,39 +1,29 @@
 package followarcane.wow_lfg_discord_bot.security.filter;
 
 import followarcane.wow_lfg_discord_bot.application.service.CustomUserDetailsService;
+import followarcane.wow_lfg_discord_bot.security.service.DiscordTokenValidationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Map;
 
 @Component
 public class TokenAuthenticationFilter extends OncePerRequestFilter {
 
-    @Value("${discord.api.url}")
-    private String discordApiUrl;
-
     private final CustomUserDetailsService customUserDetailsService;
-    private final RestTemplate restTemplate;
+    private final DiscordTokenValidationService tokenValidationService;
 
-    public TokenAuthenticationFilter(CustomUserDetailsService customUserDetailsService, RestTemplate restTemplate) {
+    public TokenAuthenticationFilter(CustomUserDetailsService customUserDetailsService, DiscordTokenValidationService tokenValidationService) {
         this.customUserDetailsService = customUserDetailsService;
-        this.restTemplate = restTemplate;
+        this.tokenValidationService = tokenValidationService;
     }
 
     @Override
@@ -45,7 +35,7 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             accessToken = authorizationHeader.substring(7);
-            userId = validateAccessToken(accessToken);
+            userId = tokenValidationService.validate(accessToken);
         }
 
         if (userId != null && SecurityContextHolder.getContext().getAuthentication() == null) {
@@ -59,20 +49,4 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
 
         chain.doFilter(request, response);
     }
-
-    private String validateAccessToken(String token) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Bearer " + token);
-
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-        ResponseEntity<Map> response = restTemplate.exchange(discordApiUrl + "/users/@me", HttpMethod.GET, entity, Map.class);
-
-        if (response.getStatusCode() == HttpStatus.OK) {
-            Map<String, Object> userData = response.getBody();
-            assert userData != null;
-            return (String) userData.get("id");
-        }
-
-        return null;
-    }
 }
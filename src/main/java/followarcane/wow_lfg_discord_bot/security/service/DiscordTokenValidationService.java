@@ -0,0 +1,137 @@
+package followarcane.wow_lfg_discord_bot.security.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Discord access token'larını /users/@me ile doğrular ve sonucu TTL'li olarak önbelleğe alır.
+ * Geçersiz token'lar da kısa bir süre hatırlanır; aynı token için eş zamanlı doğrulamalar tek bir Discord çağrısında birleşir.
+ */
+@Service
+@Slf4j
+public class DiscordTokenValidationService {
+
+    @Value("${discord.api.url}")
+    private String discordApiUrl;
+
+    @Value("${discord.token-cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${discord.token-cache.negative-ttl-ms:30000}")
+    private long negativeTtlMs;
+
+    @Value("${discord.token-cache.max-size:10000}")
+    private int maxSize;
+
+    private final RestTemplate restTemplate;
+
+    // Anahtar token'ın SHA-256 özeti; ham token bellekte tutulmaz
+    private final Map<String, CachedToken> cache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    public DiscordTokenValidationService(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    /**
+     * Token'ın ait olduğu Discord kullanıcı ID'si; token geçersizse veya doğrulanamadıysa null.
+     */
+    public String validate(String token) {
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+
+        CachedToken cached = cache.get(key);
+        if (cached != null && cached.expiresAt > now) {
+            log.debug("[TOKEN_CACHE] Cache hit");
+            return cached.userId;
+        }
+
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing.join();
+        }
+
+        try {
+            // Önceki doğrulama tam bu arada bitmiş olabilir
+            CachedToken fresh = cache.get(key);
+            String userId = fresh != null && fresh.expiresAt > now ? fresh.userId : fetchUserId(token, key);
+            created.complete(userId);
+            return userId;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    private String fetchUserId(String token, String key) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Authorization", "Bearer " + token);
+        HttpEntity<String> entity = new HttpEntity<>(headers);
+
+        try {
+            ResponseEntity<Map> response = restTemplate.exchange(discordApiUrl + "/users/@me", HttpMethod.GET, entity, Map.class);
+            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+                String userId = (String) response.getBody().get("id");
+                put(key, userId, ttlMs);
+                return userId;
+            }
+        } catch (HttpClientErrorException.Unauthorized e) {
+            put(key, null, negativeTtlMs);
+            return null;
+        } catch (Exception e) {
+            // Discord'a ulaşılamadıysa sonuç önbelleğe alınmaz, bir sonraki istek tekrar dener
+            log.warn("[TOKEN_VALIDATION] Error validating Discord token: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private void put(String key, String userId, long ttl) {
+        if (cache.size() >= maxSize) {
+            evict();
+        }
+        cache.put(key, new CachedToken(userId, System.currentTimeMillis() + ttl));
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(cached -> cached.expiresAt <= now);
+
+        Iterator<String> keys = cache.keySet().iterator();
+        while (cache.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record CachedToken(String userId, long expiresAt) {
+    }
+}
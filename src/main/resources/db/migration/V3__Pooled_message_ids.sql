@@ -0,0 +1,7 @@
+-- Message id'leri 50'lik bloklar halinde ayrılır (Hibernate pooled optimizer), böylece insert'ler batch'lenebilir.
+-- Pooled optimizer sequence değerini bloğun üst sınırı kabul eder; ilk blok MAX(id) + 1'den başlasın diye +50.
+CREATE SEQUENCE IF NOT EXISTS messages_id_seq;
+
+ALTER SEQUENCE messages_id_seq INCREMENT BY 50;
+
+SELECT setval('messages_id_seq', COALESCE((SELECT MAX(id) FROM messages), 0) + 50, false);
@@ -0,0 +1,13 @@
+-- Kanal başına gönderilen karakterlerin dedup kaydı (last_sent_characters'ın yerine)
+CREATE SEQUENCE IF NOT EXISTS lfg_sent_characters_id_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS lfg_sent_characters (
+                                     id BIGINT PRIMARY KEY,
+                                     channel_id VARCHAR(255),
+                                     character_key VARCHAR(255),
+                                     sent_at BIGINT
+);
+
+CREATE INDEX IF NOT EXISTS idx_lfg_sent_characters_sent_at ON lfg_sent_characters (sent_at);
+
+DROP TABLE IF EXISTS last_sent_characters;
@@ -1,13 +1,15 @@
 package followarcane.wow_lfg_discord_bot.application.service;
 
 
+import followarcane.wow_lfg_discord_bot.application.model.BisGearIndex;
+import followarcane.wow_lfg_discord_bot.application.model.BisItem;
 import followarcane.wow_lfg_discord_bot.application.util.ClassColorCodeHelper;
-import net.dv8tion.jda.api.EmbedBuilder;
+import followarcane.wow_lfg_discord_bot.application.util.WowSlotEnum;
 import net.dv8tion.jda.api.entities.MessageEmbed;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.lang.reflect.Field;
 import java.util.List;
 import java.util.Map;
 
@@ -28,40 +30,40 @@ public class BisGearServiceManualTest {
 
         // BisGearService'i oluştur
         bisGearService = new BisGearService(classColorCodeHelper);
+        // Veri Spring'deki gibi start() ile yüklenir
+        bisGearService.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bisGearService.stop();
     }
 
     @Test
     public void testLoadBisData() throws Exception {
-        // BisGearService'in cache alanına erişim sağla
-        Field cacheField = BisGearService.class.getDeclaredField("cache");
-        cacheField.setAccessible(true);
-        Map<String, Map<String, Map<String, Object>>> cache =
-                (Map<String, Map<String, Map<String, Object>>>) cacheField.get(bisGearService);
+        // BisGearService'in güncel index'ine erişim sağla
+        BisGearIndex index = bisGearService.currentIndex();
 
-        // Önbelleğin boş olmadığını doğrula
-        assertFalse(cache.isEmpty());
+        // Index'in boş olmadığını doğrula
+        assertTrue(index.size() > 0);
 
         // Bazı örnek profillerin varlığını kontrol et
-        assertTrue(cache.containsKey("Death_Knight_Blood_Deathbringer"));
-        assertTrue(cache.containsKey("Mage_Frost_Frostfire"));
+        assertNotNull(index.findHeroTalent("Death_Knight", "Blood", "Deathbringer"));
+        assertNotNull(index.findHeroTalent("Mage", "Frost", "Frostfire"));
 
         // Örnek bir profil için slot sayısını kontrol et
-        Map<String, Map<String, Object>> deathKnightGear = cache.get("Death_Knight_Blood_Deathbringer");
+        Map<WowSlotEnum, BisItem> deathKnightGear = index.findHeroTalent("Death_Knight", "Blood", "Deathbringer").items();
         assertTrue(deathKnightGear.size() > 10); // En az 10 slot olmalı
 
         // Örnek bir slot için item bilgilerini kontrol et
-        Map<String, Object> headItem = deathKnightGear.get("Head");
+        BisItem headItem = deathKnightGear.get(WowSlotEnum.HEAD);
         assertNotNull(headItem);
-        assertTrue(headItem.containsKey("name"));
-        assertTrue(headItem.containsKey("url"));
-        assertTrue(headItem.containsKey("source"));
-
-        // Önbellek içeriğini yazdır
-        System.out.println("Cache size: " + cache.size());
-        System.out.println("Available profiles:");
-        for (String key : cache.keySet()) {
-            System.out.println("  " + key);
-        }
+        assertNotNull(headItem.name());
+        assertNotNull(headItem.url());
+        assertNotNull(headItem.source());
+
+        // Index içeriğini yazdır
+        System.out.println("Cache size: " + index.size());
     }
 
     @Test
@@ -72,7 +74,7 @@ public class BisGearServiceManualTest {
         String heroTalent = "";
         String slot = "";
 
-        List<EmbedBuilder> embeds = bisGearService.createBisGearEmbed(slot, className, specName, heroTalent);
+        List<MessageEmbed> embeds = bisGearService.createBisGearEmbed(slot, className, specName, heroTalent);
 
         // Embed listesinin oluşturulduğunu doğrula
         assertNotNull(embeds);
@@ -83,19 +85,19 @@ public class BisGearServiceManualTest {
 
         // Her embed için bilgileri yazdır
         for (int i = 0; i < embeds.size(); i++) {
-            EmbedBuilder embed = embeds.get(i);
+            MessageEmbed embed = embeds.get(i);
             System.out.println("\nEmbed #" + (i + 1));
 
             // Embed'in başlığını kontrol et
-            String title = embed.build().getTitle();
+            String title = embed.getTitle();
             System.out.println("Title: " + title);
 
             // Embed'in açıklamasını kontrol et
-            String description = embed.build().getDescription();
+            String description = embed.getDescription();
             System.out.println("Description: " + (description != null ? description : "No description"));
 
             // Embed'in alanlarını kontrol et
-            List<MessageEmbed.Field> fields = embed.build().getFields();
+            List<MessageEmbed.Field> fields = embed.getFields();
             System.out.println("Number of fields: " + fields.size());
             for (MessageEmbed.Field field : fields) {
                 System.out.println("Field: " + field.getName() + " - " + field.getValue());
@@ -1,6 +1,8 @@
 package followarcane.wow_lfg_discord_bot.application.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import followarcane.wow_lfg_discord_bot.application.util.ClassColorCodeHelper;
+import followarcane.wow_lfg_discord_bot.infrastructure.properties.RaiderIoProperties;
 import net.dv8tion.jda.api.EmbedBuilder;
 import net.dv8tion.jda.api.entities.MessageEmbed;
 import org.junit.jupiter.api.BeforeEach;
@@ -51,7 +53,7 @@ public class CharacterStatsServiceManualTest {
         }
 
         // CharacterStatsService oluştur
-        characterStatsService = new CharacterStatsService(restTemplate, classColorCodeHelper, battleNetApiService);
+        characterStatsService = new CharacterStatsService(new RaiderIoClient(restTemplate, new ObjectMapper(), new RaiderIoProperties()), classColorCodeHelper, battleNetApiService);
     }
 
     @Test
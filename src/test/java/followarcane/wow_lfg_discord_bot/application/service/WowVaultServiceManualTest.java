@@ -1,6 +1,8 @@
 package followarcane.wow_lfg_discord_bot.application.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import followarcane.wow_lfg_discord_bot.application.util.ClassColorCodeHelper;
+import followarcane.wow_lfg_discord_bot.infrastructure.properties.RaiderIoProperties;
 import net.dv8tion.jda.api.EmbedBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,7 +36,7 @@ public class WowVaultServiceManualTest {
         ReflectionTestUtils.setField(battleNetApiService, "battleNetApiUrl", "https://eu.api.blizzard.com");
 
         // WowVaultService'i oluştur ve BattleNetApiService'i enjekte et
-        wowVaultService = new WowVaultService(restTemplate, classColorCodeHelper, battleNetApiService);
+        wowVaultService = new WowVaultService(new RaiderIoClient(restTemplate, new ObjectMapper(), new RaiderIoProperties()), classColorCodeHelper, battleNetApiService);
     }
 
     @Test